@@ -0,0 +1,117 @@
+package com.pismo.demo.admission;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per account, implemented as the generic cell rate algorithm (GCRA).
+ * <p>
+ * The whole bucket of an account is one {@code long}: the theoretical arrival time of its next
+ * request. Admitting a request advances it by one emission interval ({@code 1 / rate}) with a
+ * single compare-and-set, and a request is refused while that time lies more than the burst
+ * allowance ahead of now. There are no locks and no refill task.
+ * <p>
+ * Accounts are spread over stripes so that each stripe can be swept on its own: a bucket whose
+ * arrival time has passed is full again and equivalent to no state at all, so it is dropped when
+ * the stripe grows past its share of {@code maxTrackedAccounts}. If a stripe is still full after a
+ * sweep, new accounts are admitted without state rather than refused.
+ */
+public class AccountRateLimiter {
+
+    private static final int STRIPES = 16;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxPerStripe;
+    private final LongSupplier nanoClock;
+    private final long origin;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public AccountRateLimiter(double perSecond, int burst, int maxTrackedAccounts) {
+        this(perSecond, burst, maxTrackedAccounts, System::nanoTime);
+    }
+
+    AccountRateLimiter(double perSecond, int burst, int maxTrackedAccounts, LongSupplier nanoClock) {
+        if (perSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.emissionIntervalNanos = (long) (1_000_000_000L / perSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.maxPerStripe = Math.max(1, maxTrackedAccounts / STRIPES);
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Takes one token from the account's bucket.
+     *
+     * @return {@link Duration#ZERO} if admitted, otherwise how long until the next request would be.
+     */
+    public Duration tryAcquire(long accountId) {
+        long now = nanoClock.getAsLong() - origin + emissionIntervalNanos;
+        AtomicLong arrival = stripeFor(accountId).bucket(accountId, now);
+        if (arrival == null) {
+            return Duration.ZERO;
+        }
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long wait = next - now - burstToleranceNanos;
+            if (wait > 0) {
+                return Duration.ofNanos(wait);
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    public int getTrackedAccounts() {
+        int tracked = 0;
+        for (Stripe stripe : stripes) {
+            tracked += stripe.buckets.size();
+        }
+        return tracked;
+    }
+
+    private Stripe stripeFor(long accountId) {
+        long mixed = accountId * 0x9E3779B97F4A7C15L;
+        return stripes[(int) ((mixed ^ (mixed >>> 32)) & (STRIPES - 1))];
+    }
+
+    private final class Stripe {
+        private final Map<Long, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicBoolean sweeping = new AtomicBoolean();
+
+        private AtomicLong bucket(long accountId, long now) {
+            AtomicLong arrival = buckets.get(accountId);
+            if (arrival != null) {
+                return arrival;
+            }
+            if (buckets.size() >= maxPerStripe) {
+                sweep(now);
+                if (buckets.size() >= maxPerStripe) {
+                    return null;
+                }
+            }
+            return buckets.computeIfAbsent(accountId, id -> new AtomicLong());
+        }
+
+        private void sweep(long now) {
+            if (sweeping.compareAndSet(false, true)) {
+                try {
+                    buckets.values().removeIf(arrival -> arrival.get() <= now);
+                } finally {
+                    sweeping.set(false);
+                }
+            }
+        }
+    }
+}
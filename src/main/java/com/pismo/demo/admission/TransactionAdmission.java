@@ -0,0 +1,111 @@
+package com.pismo.demo.admission;
+
+import com.pismo.demo.config.AdmissionProperties;
+import com.pismo.demo.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Decides whether a transaction request may proceed, before it reaches the service and the database.
+ * <p>
+ * Two checks run in order: the account's {@link AccountRateLimiter} bucket, which keeps one flooded
+ * account from taking capacity from everyone else, and the {@link AdaptiveConcurrencyLimiter}, which
+ * keeps the total in flight below the point where latency degrades. A refused request fails at once
+ * with {@link TooManyRequestsException} (429).
+ */
+@Component
+public class TransactionAdmission implements MeterBinder {
+
+    private static final Duration CONCURRENCY_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final boolean enabled;
+    private final AccountRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder concurrencyLimited = new LongAdder();
+
+    public TransactionAdmission(AdmissionProperties properties) {
+        AdmissionProperties.RateLimit rateLimit = properties.getRateLimit();
+        AdmissionProperties.Concurrency concurrency = properties.getConcurrency();
+        this.enabled = properties.isEnabled();
+        this.rateLimiter = new AccountRateLimiter(rateLimit.getPerSecond(), rateLimit.getBurst(),
+                rateLimit.getMaxTrackedAccounts());
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(concurrency.getInitialLimit(),
+                concurrency.getMinLimit(), concurrency.getMaxLimit(), concurrency.getLatencyThreshold(),
+                concurrency.getBackoffRatio());
+    }
+
+    /**
+     * Runs {@code work} for {@code accountId} if admitted, holding a concurrency slot until the
+     * returned future completes.
+     *
+     * @throws TooManyRequestsException if the account is over its rate or too many transactions are in flight.
+     */
+    public <T> CompletableFuture<T> admit(long accountId, Supplier<CompletableFuture<T>> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        Duration wait = rateLimiter.tryAcquire(accountId);
+        if (!wait.isZero()) {
+            rateLimited.increment();
+            throw new TooManyRequestsException("Too many transactions for this account. Please slow down.", wait);
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            concurrencyLimited.increment();
+            throw new TooManyRequestsException("Too many transactions in flight. Please retry later.",
+                    CONCURRENCY_RETRY_AFTER);
+        }
+        long started = System.nanoTime();
+        CompletableFuture<T> result;
+        try {
+            result = work.get();
+        } catch (RuntimeException e) {
+            concurrencyLimiter.release(System.nanoTime() - started, isOverload(e));
+            throw e;
+        }
+        return result.whenComplete((value, failure) ->
+                concurrencyLimiter.release(System.nanoTime() - started, isOverload(failure)));
+    }
+
+    private static boolean isOverload(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        return cause instanceof RejectedExecutionException || cause instanceof TransientDataAccessException;
+    }
+
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("admission.rejected", rateLimited, LongAdder::sum)
+                .tag("reason", "account-rate")
+                .description("Transaction requests refused with 429 before reaching the service")
+                .register(registry);
+        FunctionCounter.builder("admission.rejected", concurrencyLimited, LongAdder::sum)
+                .tag("reason", "concurrency")
+                .description("Transaction requests refused with 429 before reaching the service")
+                .register(registry);
+        Gauge.builder("admission.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Transactions currently allowed in flight")
+                .register(registry);
+        Gauge.builder("admission.concurrency.in.flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Transactions currently in flight")
+                .register(registry);
+        Gauge.builder("admission.rate.tracked.accounts", rateLimiter, AccountRateLimiter::getTrackedAccounts)
+                .description("Accounts with rate-limit state")
+                .register(registry);
+    }
+}
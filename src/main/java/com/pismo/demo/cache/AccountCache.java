@@ -0,0 +1,90 @@
+package com.pismo.demo.cache;
+
+import com.pismo.demo.config.AccountCacheProperties;
+import com.pismo.demo.dto.AccountResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recently read or created accounts, by id and by document number, so repeated
+ * {@code GET /accounts/{id}} and document lookups are answered without a transaction or a
+ * connection checkout. Document numbers that were just looked up and not found are remembered for
+ * a short TTL as well; creating the account clears them.
+ * <p>
+ * The cached response only holds the id and the document number, neither of which ever changes;
+ * transactions only move the balance, which is not part of it, so they need not touch the cache.
+ * Anything that starts changing those fields or exposing the balance must {@link #invalidate} here.
+ * Metrics are published as {@code cache.*} with {@code cache=accounts}, {@code accounts-by-document}
+ * and {@code unknown-documents}.
+ */
+@Component
+public class AccountCache implements MeterBinder {
+
+    private final BoundedCache<Long, AccountResponseDTO> accounts;
+    private final BoundedCache<String, AccountResponseDTO> accountsByDocument;
+    private final BoundedCache<String, Boolean> unknownDocuments;
+
+    public AccountCache(AccountCacheProperties properties) {
+        this.accounts = new BoundedCache<>("accounts", properties.getMaxSize(), properties.getTtl());
+        this.accountsByDocument = new BoundedCache<>("accounts-by-document", properties.getMaxSize(), properties.getTtl());
+        this.unknownDocuments = new BoundedCache<>("unknown-documents", properties.getUnknownMaxSize(),
+                properties.getUnknownTtl());
+    }
+
+    /**
+     * Returns the cached account, or {@code null} if it was not read recently.
+     */
+    public AccountResponseDTO get(Long accountId) {
+        return accounts.get(accountId);
+    }
+
+    /**
+     * Returns the cached account holding {@code documentNumber}, or {@code null} if it was not read recently.
+     */
+    public AccountResponseDTO getByDocumentNumber(String documentNumber) {
+        return accountsByDocument.get(documentNumber);
+    }
+
+    /**
+     * Whether {@code documentNumber} was looked up and not found within the unknown-document TTL.
+     */
+    public boolean isUnknownDocument(String documentNumber) {
+        return unknownDocuments.get(documentNumber) != null;
+    }
+
+    /**
+     * Caches an account that is known to be committed.
+     */
+    public void put(AccountResponseDTO account) {
+        accounts.put(account.accountId(), account);
+        accountsByDocument.put(account.documentNumber(), account);
+        unknownDocuments.invalidate(account.documentNumber());
+    }
+
+    public void putUnknownDocument(String documentNumber) {
+        unknownDocuments.put(documentNumber, Boolean.TRUE);
+    }
+
+    /**
+     * Forgets that {@code documentNumber} was unknown, for accounts inserted without going through {@link #put}.
+     */
+    public void invalidateUnknownDocument(String documentNumber) {
+        unknownDocuments.invalidate(documentNumber);
+    }
+
+    public void invalidate(Long accountId) {
+        AccountResponseDTO account = accounts.get(accountId);
+        accounts.invalidate(accountId);
+        if (account != null) {
+            accountsByDocument.invalidate(account.documentNumber());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        accounts.bindTo(registry);
+        accountsByDocument.bindTo(registry);
+        unknownDocuments.bindTo(registry);
+    }
+}
@@ -0,0 +1,62 @@
+package com.pismo.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the account read cache, bound from {@code accounts.cache.*} properties.
+ */
+@ConfigurationProperties(prefix = "accounts.cache")
+public class AccountCacheProperties {
+
+    /**
+     * Accounts kept in memory; the least recently read are evicted first.
+     */
+    private int maxSize = 100_000;
+
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * Document numbers remembered as unknown, so repeated lookups of them skip the database.
+     */
+    private int unknownMaxSize = 100_000;
+
+    /**
+     * How long a document number stays known as unknown; bounds how late an account created by
+     * another instance is seen.
+     */
+    private Duration unknownTtl = Duration.ofSeconds(30);
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public int getUnknownMaxSize() {
+        return unknownMaxSize;
+    }
+
+    public void setUnknownMaxSize(int unknownMaxSize) {
+        this.unknownMaxSize = unknownMaxSize;
+    }
+
+    public Duration getUnknownTtl() {
+        return unknownTtl;
+    }
+
+    public void setUnknownTtl(Duration unknownTtl) {
+        this.unknownTtl = unknownTtl;
+    }
+}
@@ -0,0 +1,65 @@
+package com.pismo.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the executor behind {@code POST /transactions}, bound from {@code transactions.async.*} properties.
+ */
+@ConfigurationProperties(prefix = "transactions.async")
+public class AsyncTransactionProperties {
+
+    /**
+     * Threads processing transactions; more than the connection pool only adds threads waiting for a connection.
+     * With virtual threads, {@code threads + queueCapacity} is the number of transactions allowed in flight.
+     */
+    private int threads = 20;
+
+    /**
+     * Transactions waiting for a thread before new requests are rejected with 503.
+     */
+    private int queueCapacity = 1_000;
+
+    /**
+     * How long a request waits for its transaction before it is answered with 503.
+     */
+    private Duration timeout = Duration.ofSeconds(5);
+
+    /**
+     * Sent as {@code Retry-After} on 503 responses.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+}
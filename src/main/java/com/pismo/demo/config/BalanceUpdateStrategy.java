@@ -0,0 +1,17 @@
+package com.pismo.demo.config;
+
+/**
+ * Selects how a transaction applies its amount to {@code account.balance}.
+ */
+public enum BalanceUpdateStrategy {
+
+    /**
+     * One conditional {@code UPDATE} performs the limit check and the balance change in the database.
+     */
+    ATOMIC,
+
+    /**
+     * The account is loaded, changed in memory and saved; version conflicts are retried.
+     */
+    OPTIMISTIC
+}
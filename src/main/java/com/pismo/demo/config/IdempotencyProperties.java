@@ -0,0 +1,61 @@
+package com.pismo.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the idempotency-key front cache, bound from {@code idempotency.*} properties.
+ */
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Keys the Bloom filter is sized for before it adds a larger layer.
+     */
+    private long expectedKeys = 1_000_000;
+
+    /**
+     * Upper bound on the share of new keys that still need a database lookup.
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Recent responses kept for replaying retried requests.
+     */
+    private int cacheMaxSize = 100_000;
+
+    private Duration cacheTtl = Duration.ofMinutes(10);
+
+    public long getExpectedKeys() {
+        return expectedKeys;
+    }
+
+    public void setExpectedKeys(long expectedKeys) {
+        this.expectedKeys = expectedKeys;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public int getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    public void setCacheMaxSize(int cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+    }
+
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void setCacheTtl(Duration cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+}
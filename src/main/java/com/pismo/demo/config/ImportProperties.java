@@ -0,0 +1,49 @@
+package com.pismo.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tuning for the NDJSON bulk imports, bound from {@code imports.*} properties.
+ */
+@ConfigurationProperties(prefix = "imports")
+public class ImportProperties {
+
+    /**
+     * Valid records committed together; the checkpoint advances after every chunk.
+     */
+    private int chunkSize = 1_000;
+
+    /**
+     * Per-line errors returned in the report; further errors are only counted.
+     */
+    private int maxReportedErrors = 100;
+
+    /**
+     * Lines between progress log messages.
+     */
+    private long progressInterval = 100_000;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxReportedErrors() {
+        return maxReportedErrors;
+    }
+
+    public void setMaxReportedErrors(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public long getProgressInterval() {
+        return progressInterval;
+    }
+
+    public void setProgressInterval(long progressInterval) {
+        this.progressInterval = progressInterval;
+    }
+}
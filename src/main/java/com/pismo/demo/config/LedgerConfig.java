@@ -0,0 +1,23 @@
+package com.pismo.demo.config;
+
+import com.pismo.demo.ledger.DirectLedgerExecutor;
+import com.pismo.demo.ledger.LedgerExecutor;
+import com.pismo.demo.ledger.ShardedLedgerExecutor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class LedgerConfig {
+
+    @Bean
+    public LedgerExecutor ledgerExecutor(LedgerProperties properties) {
+        if (properties.getMode() == LedgerMode.SHARDED) {
+            LedgerProperties.Sharded sharded = properties.getSharded();
+            return new ShardedLedgerExecutor(sharded.getShards(), sharded.getQueueCapacity(),
+                    sharded.getTimeout());
+        }
+        return new DirectLedgerExecutor();
+    }
+}
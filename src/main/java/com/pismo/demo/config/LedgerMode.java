@@ -0,0 +1,31 @@
+package com.pismo.demo.config;
+
+/**
+ * Selects how balance mutations for {@code POST /transactions} are executed.
+ */
+public enum LedgerMode {
+
+    /**
+     * Each request runs its own database transaction on the calling thread.
+     */
+    DIRECT,
+
+    /**
+     * Requests are routed to a single-threaded shard owning the account, so mutations
+     * for the same account never run concurrently inside this instance.
+     */
+    SHARDED,
+
+    /**
+     * Accepted transactions from many requests are grouped into micro-batches, each applied with
+     * one JDBC batch and one commit; every caller returns once its batch has committed.
+     */
+    WRITE_BEHIND,
+
+    /**
+     * Transaction rows are the only record of balances: a single writer keeps every balance in memory,
+     * checks limits there and appends the approved rows, without updating account rows. Balances are
+     * checkpointed periodically and rebuilt on startup from the last checkpoint plus the rows after it.
+     */
+    EVENT_SOURCED
+}
@@ -0,0 +1,400 @@
+package com.pismo.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Currency;
+
+/**
+ * Tuning for the transaction ledger, bound from {@code ledger.*} properties.
+ */
+@ConfigurationProperties(prefix = "ledger")
+public class LedgerProperties {
+
+    private LedgerMode mode = LedgerMode.DIRECT;
+
+    private BalanceUpdateStrategy balanceUpdate = BalanceUpdateStrategy.ATOMIC;
+
+    /**
+     * Currency of all balances and amounts; its default fraction digits fix the scale of {@code Money}.
+     */
+    private Currency currency = Currency.getInstance("USD");
+
+    /**
+     * Whether single transactions are checked and applied on {@link com.pismo.demo.money.Money}'s long minor
+     * units instead of {@code BigDecimal}. Amounts with more decimal places than the currency allows are
+     * then rejected; otherwise they are rounded half-up to its scale, as the decimal columns would. The
+     * write-behind and event-sourced modes and batch ingestion always work in minor units.
+     */
+    private boolean minorUnits = false;
+
+    private final Sharded sharded = new Sharded();
+
+    private final Optimistic optimistic = new Optimistic();
+
+    private final WriteBehind writeBehind = new WriteBehind();
+
+    private final Batch batch = new Batch();
+
+    private final Snapshots snapshots = new Snapshots();
+
+    private final EventSourced eventSourced = new EventSourced();
+
+    public LedgerMode getMode() {
+        return mode;
+    }
+
+    public void setMode(LedgerMode mode) {
+        this.mode = mode;
+    }
+
+    public BalanceUpdateStrategy getBalanceUpdate() {
+        return balanceUpdate;
+    }
+
+    public void setBalanceUpdate(BalanceUpdateStrategy balanceUpdate) {
+        this.balanceUpdate = balanceUpdate;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(Currency currency) {
+        this.currency = currency;
+    }
+
+    public boolean isMinorUnits() {
+        return minorUnits;
+    }
+
+    public void setMinorUnits(boolean minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public Sharded getSharded() {
+        return sharded;
+    }
+
+    public Optimistic getOptimistic() {
+        return optimistic;
+    }
+
+    public WriteBehind getWriteBehind() {
+        return writeBehind;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public Snapshots getSnapshots() {
+        return snapshots;
+    }
+
+    public EventSourced getEventSourced() {
+        return eventSourced;
+    }
+
+    public static class Sharded {
+
+        /**
+         * Number of single-threaded shards accounts are partitioned across.
+         */
+        private int shards = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Pending mutations a shard accepts before rejecting new work.
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * How long a request waits for its shard to run and finish its work.
+         */
+        private Duration timeout = Duration.ofSeconds(10);
+
+        public int getShards() {
+            return shards;
+        }
+
+        public void setShards(int shards) {
+            this.shards = shards;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class Optimistic {
+
+        /**
+         * Total attempts (first try included) before a version conflict is reported to the caller.
+         */
+        private int maxAttempts = 5;
+
+        /**
+         * Upper bound of the randomized backoff before the first retry; doubles on every retry.
+         */
+        private Duration initialBackoff = Duration.ofMillis(5);
+
+        private Duration maxBackoff = Duration.ofMillis(200);
+
+        /**
+         * Maximum number of distinct accounts tracked by the per-account contention counters.
+         */
+        private int maxTrackedAccounts = 10_000;
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public int getMaxTrackedAccounts() {
+            return maxTrackedAccounts;
+        }
+
+        public void setMaxTrackedAccounts(int maxTrackedAccounts) {
+            this.maxTrackedAccounts = maxTrackedAccounts;
+        }
+    }
+
+    public static class WriteBehind {
+
+        /**
+         * Largest number of transactions written with one JDBC batch and one commit.
+         */
+        private int maxBatchSize = 500;
+
+        /**
+         * How long a batch stays open for more transactions after its first one arrived.
+         */
+        private Duration maxWait = Duration.ofMillis(2);
+
+        /**
+         * Transactions waiting for a batch before new requests are rejected.
+         */
+        private int queueCapacity = 50_000;
+
+        /**
+         * How long a request waits for its batch to commit.
+         */
+        private Duration timeout = Duration.ofSeconds(10);
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class Batch {
+
+        /**
+         * Largest number of transactions accepted by one batch request.
+         */
+        private int maxItems = 5_000;
+
+        /**
+         * Transactions applied per database transaction within a batch request.
+         */
+        private int chunkSize = 500;
+
+        public int getMaxItems() {
+            return maxItems;
+        }
+
+        public void setMaxItems(int maxItems) {
+            this.maxItems = maxItems;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class Snapshots {
+
+        /**
+         * When closed days are compacted into daily balance snapshots; "-" disables the job.
+         */
+        private String cron = "0 15 0 * * *";
+
+        /**
+         * Accounts snapshotted per database transaction; their rows stay locked until it commits.
+         */
+        private int chunkSize = 500;
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class EventSourced {
+
+        /**
+         * Largest number of transactions appended with one JDBC batch and one commit.
+         */
+        private int maxBatchSize = 500;
+
+        /**
+         * How long a batch stays open for more transactions after its first one arrived.
+         */
+        private Duration maxWait = Duration.ofMillis(2);
+
+        /**
+         * Transactions waiting for the writer before new requests are rejected.
+         */
+        private int queueCapacity = 50_000;
+
+        /**
+         * How long a request waits for its append to commit.
+         */
+        private Duration timeout = Duration.ofSeconds(10);
+
+        /**
+         * Time between balance checkpoints while there are uncheckpointed appends.
+         */
+        private Duration checkpointInterval = Duration.ofSeconds(30);
+
+        /**
+         * Appends after which a checkpoint is taken without waiting for the interval; bounds the
+         * tail replayed on startup.
+         */
+        private int checkpointEvery = 100_000;
+
+        /**
+         * Account balances written per statement batch of a checkpoint.
+         */
+        private int checkpointChunkSize = 1_000;
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public Duration getCheckpointInterval() {
+            return checkpointInterval;
+        }
+
+        public void setCheckpointInterval(Duration checkpointInterval) {
+            this.checkpointInterval = checkpointInterval;
+        }
+
+        public int getCheckpointEvery() {
+            return checkpointEvery;
+        }
+
+        public void setCheckpointEvery(int checkpointEvery) {
+            this.checkpointEvery = checkpointEvery;
+        }
+
+        public int getCheckpointChunkSize() {
+            return checkpointChunkSize;
+        }
+
+        public void setCheckpointChunkSize(int checkpointChunkSize) {
+            this.checkpointChunkSize = checkpointChunkSize;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.pismo.demo.config;
+
+import com.pismo.demo.datasource.ConcurrencyLimitedDataSource;
+import com.pismo.demo.diagnostics.PinnedThreadMonitor;
+import com.pismo.demo.diagnostics.PinningEndpoint;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Virtual-thread execution mode, active with {@code spring.threads.virtual.enabled=true}.
+ * <p>
+ * Spring Boot then runs Tomcat requests, MVC async work and scheduled jobs on virtual threads; the
+ * service layer runs on the request thread and needs no changes. What does need bounding is the
+ * database: the data source is wrapped in a {@link ConcurrencyLimitedDataSource} so that no more
+ * threads than there are pooled connections enter the pool and driver at once, and a
+ * {@link PinnedThreadMonitor} reports code that pins carriers.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    static BeanPostProcessor dataSourceConcurrencyLimiter(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                // Bound by hand: post-processors are created before configuration properties beans.
+                VirtualThreadProperties properties = Binder.get(environment)
+                        .bindOrCreate("virtual-threads", VirtualThreadProperties.class);
+                int permits = properties.getDbPermits();
+                if (permits <= 0 && dataSource instanceof HikariDataSource hikari) {
+                    // -1 until Hikari validates its configuration, which then defaults it to 10.
+                    permits = hikari.getMaximumPoolSize();
+                }
+                if (permits <= 0) {
+                    permits = DEFAULT_POOL_SIZE;
+                }
+                log.info("Limiting data source {} to {} concurrent connections", beanName, permits);
+                return new ConcurrencyLimitedDataSource(dataSource, permits, properties.getDbAcquireTimeout());
+            }
+        };
+    }
+
+    @Bean
+    public PinnedThreadMonitor pinnedThreadMonitor(VirtualThreadProperties properties) {
+        return new PinnedThreadMonitor(properties);
+    }
+
+    @Bean
+    public PinningEndpoint pinningEndpoint(PinnedThreadMonitor pinnedThreadMonitor) {
+        return new PinningEndpoint(pinnedThreadMonitor);
+    }
+}
@@ -0,0 +1,65 @@
+package com.pismo.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Limits and diagnostics that apply when {@code spring.threads.virtual.enabled=true}, bound from
+ * {@code virtual-threads.*} properties.
+ */
+@ConfigurationProperties(prefix = "virtual-threads")
+public class VirtualThreadProperties {
+
+    /**
+     * Threads allowed to hold a database connection at once; 0 uses the pool's maximum size.
+     */
+    private int dbPermits = 0;
+
+    /**
+     * How long a thread waits for a permit before the connection request fails.
+     */
+    private Duration dbAcquireTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Shortest pinned interval reported by the pinning monitor.
+     */
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+
+    /**
+     * Distinct pinning sites tracked; further sites are only counted.
+     */
+    private int maxPinnedSites = 100;
+
+    public int getDbPermits() {
+        return dbPermits;
+    }
+
+    public void setDbPermits(int dbPermits) {
+        this.dbPermits = dbPermits;
+    }
+
+    public Duration getDbAcquireTimeout() {
+        return dbAcquireTimeout;
+    }
+
+    public void setDbAcquireTimeout(Duration dbAcquireTimeout) {
+        this.dbAcquireTimeout = dbAcquireTimeout;
+    }
+
+    public Duration getPinnedThreshold() {
+        return pinnedThreshold;
+    }
+
+    public void setPinnedThreshold(Duration pinnedThreshold) {
+        this.pinnedThreshold = pinnedThreshold;
+    }
+
+    public int getMaxPinnedSites() {
+        return maxPinnedSites;
+    }
+
+    public void setMaxPinnedSites(int maxPinnedSites) {
+        this.maxPinnedSites = maxPinnedSites;
+    }
+}
@@ -0,0 +1,29 @@
+package com.pismo.demo.controller;
+
+import com.pismo.demo.dto.BalanceResponseDTO;
+import com.pismo.demo.service.BalanceService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/accounts/{accountId}/balance")
+public class AccountBalanceController {
+
+    private final BalanceService balanceService;
+
+    public AccountBalanceController(BalanceService balanceService) {
+        this.balanceService = balanceService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get the balance of an account as of a point in time")
+    public ResponseEntity<BalanceResponseDTO> getBalance(
+            @PathVariable Long accountId,
+            @RequestParam(name = "as_of", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(balanceService.getBalance(accountId, asOf));
+    }
+}
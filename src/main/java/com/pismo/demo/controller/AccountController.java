@@ -29,6 +29,12 @@ public class AccountController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdAccountDTO);
     }
 
+    @GetMapping(params = "document_number")
+    @Operation(summary = "Get account by document number")
+    public ResponseEntity<AccountResponseDTO> getAccountByDocumentNumber(@RequestParam("document_number") String documentNumber) {
+        return ResponseEntity.ok(accountService.getAccountByDocumentNumber(documentNumber));
+    }
+
     @GetMapping("/{accountId}")
     @Operation(summary = "Get account by ID")
     public ResponseEntity<AccountResponseDTO> getAccount(@PathVariable Long accountId) {
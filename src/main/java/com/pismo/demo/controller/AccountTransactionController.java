@@ -0,0 +1,35 @@
+package com.pismo.demo.controller;
+
+import com.pismo.demo.dto.TransactionHistoryQuery;
+import com.pismo.demo.dto.TransactionPageDTO;
+import com.pismo.demo.service.TransactionHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/accounts/{accountId}/transactions")
+public class AccountTransactionController {
+
+    private final TransactionHistoryService transactionHistoryService;
+
+    public AccountTransactionController(TransactionHistoryService transactionHistoryService) {
+        this.transactionHistoryService = transactionHistoryService;
+    }
+
+    @GetMapping
+    @Operation(summary = "List an account's transactions, newest first, one page at a time")
+    public ResponseEntity<TransactionPageDTO> getTransactions(
+            @PathVariable Long accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "operation_type_id", required = false) Integer operationTypeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        TransactionHistoryQuery query = new TransactionHistoryQuery(from, to, operationTypeId, cursor, limit);
+        return ResponseEntity.ok(transactionHistoryService.getTransactions(accountId, query));
+    }
+}
@@ -0,0 +1,77 @@
+package com.pismo.demo.controller;
+
+import com.pismo.demo.dto.TransactionExportQuery;
+import com.pismo.demo.exports.ExportFormat;
+import com.pismo.demo.exports.ExportRequestTimeout;
+import com.pismo.demo.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/exports")
+public class ExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ExportService exportService;
+    private final Duration timeout;
+
+    public ExportController(ExportService exportService, @Value("${exports.request-timeout:30m}") Duration timeout) {
+        this.exportService = exportService;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Streams transactions as CSV or NDJSON, gzip-compressed when the client accepts it. {@code date}
+     * selects one day and is shorthand for {@code from}/{@code to}. Large dumps outlive the default async
+     * timeout, so the stream runs under {@code exports.request-timeout} instead.
+     */
+    @GetMapping("/transactions")
+    @Operation(summary = "Export transactions of an account or a period as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(name = "account_id", required = false) Long accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+        if (date != null) {
+            if (from != null || to != null) {
+                throw new IllegalArgumentException("Use either date or from/to");
+            }
+            from = date.atStartOfDay();
+            to = date.plusDays(1).atStartOfDay();
+        }
+        ExportFormat exportFormat = ExportFormat.from(format);
+        ExportRequestTimeout.apply(request, timeout);
+        StreamingResponseBody body = exportService.exportTransactions(
+                new TransactionExportQuery(accountId, from, to), exportFormat);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, exportFormat.getContentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + exportFormat.getFileExtension() + "\"");
+        if (acceptEncoding == null || !acceptEncoding.contains("gzip")) {
+            return response.body(body);
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .body(out -> {
+                    GZIPOutputStream gzip = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                    body.writeTo(gzip);
+                    gzip.finish();
+                });
+    }
+}
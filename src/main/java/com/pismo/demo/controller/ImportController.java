@@ -0,0 +1,43 @@
+package com.pismo.demo.controller;
+
+import com.pismo.demo.dto.ImportReportDTO;
+import com.pismo.demo.service.ImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/imports")
+public class ImportController {
+
+    private final ImportService importService;
+
+    public ImportController(ImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping(value = "/accounts", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import accounts from newline-delimited JSON")
+    public ResponseEntity<ImportReportDTO> importAccounts(InputStream body,
+                                                          @RequestParam(name = "resume_from_line", defaultValue = "0") long resumeFromLine) {
+        return toResponse(importService.importAccounts(body, resumeFromLine));
+    }
+
+    @PostMapping(value = "/transactions", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import transactions from newline-delimited JSON")
+    public ResponseEntity<ImportReportDTO> importTransactions(InputStream body,
+                                                              @RequestParam(name = "resume_from_line", defaultValue = "0") long resumeFromLine) {
+        return toResponse(importService.importTransactions(body, resumeFromLine));
+    }
+
+    private static ResponseEntity<ImportReportDTO> toResponse(ImportReportDTO report) {
+        HttpStatus status = report.status() == ImportReportDTO.Status.COMPLETED
+                ? HttpStatus.OK
+                : HttpStatus.INTERNAL_SERVER_ERROR;
+        return ResponseEntity.status(status).body(report);
+    }
+}
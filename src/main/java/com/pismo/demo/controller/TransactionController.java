@@ -1,34 +1,84 @@
 package com.pismo.demo.controller;
 
 
+import com.pismo.demo.admission.TransactionAdmission;
+import com.pismo.demo.dto.BatchTransactionRequestDTO;
+import com.pismo.demo.dto.BatchTransactionResponseDTO;
+import com.pismo.demo.dto.BatchTransactionResultDTO;
 import com.pismo.demo.dto.TransactionRequestDTO;
-import com.pismo.demo.dto.TransactionResponseDTO;
+import com.pismo.demo.service.AsyncTransactionService;
+import com.pismo.demo.service.TransactionDecline;
+import com.pismo.demo.service.TransactionResult;
 import com.pismo.demo.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.URI;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/transactions")
 public class TransactionController {
 
+    /**
+     * Responses to declined transactions, built once. The instance URI is set up front because
+     * Spring MVC fills in a missing one, which would mutate the shared body.
+     */
+    private static final Map<TransactionDecline, ResponseEntity<ProblemDetail>> DECLINE_RESPONSES =
+            new EnumMap<>(TransactionDecline.class);
+
+    static {
+        for (TransactionDecline decline : TransactionDecline.values()) {
+            ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, decline.message());
+            problemDetail.setTitle("Bad Request");
+            problemDetail.setInstance(URI.create("/transactions"));
+            DECLINE_RESPONSES.put(decline, ResponseEntity.badRequest().body(problemDetail));
+        }
+    }
+
     private final TransactionService transactionService;
+    private final AsyncTransactionService asyncTransactionService;
+    private final TransactionAdmission admission;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+                                 AsyncTransactionService asyncTransactionService,
+                                 TransactionAdmission admission) {
         this.transactionService = transactionService;
+        this.asyncTransactionService = asyncTransactionService;
+        this.admission = admission;
     }
     private static final Logger log = LoggerFactory.getLogger(TransactionController.class);
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Create a transaction")
-    public ResponseEntity<TransactionResponseDTO> createTransaction(@RequestHeader(value = "key") String idempotencyKey,
-                                                                    @RequestBody @Valid TransactionRequestDTO request) {
-        TransactionResponseDTO responseDTO = transactionService.createTransaction(request, idempotencyKey);
-        return ResponseEntity.ok(responseDTO);
+    public CompletableFuture<ResponseEntity<?>> createTransaction(@RequestHeader(value = "key") String idempotencyKey,
+                                                                  @RequestBody @Valid TransactionRequestDTO request) {
+        return admission.admit(request.accountId(),
+                        () -> asyncTransactionService.submitTransaction(request, idempotencyKey))
+                .thenApply(TransactionController::toResponse);
+    }
+
+    private static ResponseEntity<?> toResponse(TransactionResult result) {
+        return switch (result) {
+            case TransactionResult.Accepted accepted -> ResponseEntity.ok(accepted.response());
+            case TransactionResult.Declined declined -> DECLINE_RESPONSES.get(declined.reason());
+        };
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create a batch of transactions, each with its own idempotency key")
+    public ResponseEntity<BatchTransactionResponseDTO> createTransactions(@RequestBody @Valid BatchTransactionRequestDTO request) {
+        List<BatchTransactionResultDTO> results = transactionService.createTransactions(request.transactions());
+        return ResponseEntity.ok(new BatchTransactionResponseDTO(results));
     }
 }
@@ -0,0 +1,76 @@
+package com.pismo.demo.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forces committed data of the file-based H2 database to disk every {@code persistence.sync-interval}.
+ * <p>
+ * H2's MVStore writes each commit to the file but leaves flushing it from the OS cache to the
+ * operating system; only {@code CHECKPOINT SYNC} calls fsync. Syncing on a fixed interval groups every
+ * commit of that interval into one fsync, so a power loss or OS crash loses at most the last interval
+ * of acknowledged transactions while commits themselves never wait for the disk. A crash of the JVM
+ * alone loses nothing: the writes are already in the OS cache. Active only when the property is set.
+ */
+@Component
+@ConditionalOnProperty(name = "persistence.sync-interval")
+public class DatabaseSync implements SchedulingConfigurer, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseSync.class);
+
+    private static final String SYNC_SQL = "CHECKPOINT SYNC";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration interval;
+    private volatile Timer syncTimer;
+
+    public DatabaseSync(JdbcTemplate jdbcTemplate, @Value("${persistence.sync-interval}") Duration interval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.interval = interval;
+    }
+
+    // Registered here rather than with @Scheduled, whose fixedDelayString does not accept values like "100ms".
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::syncScheduled, interval);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        syncTimer = Timer.builder("database.sync")
+                .description("Time taken to force committed data to disk")
+                .register(registry);
+    }
+
+    void syncScheduled() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            log.error("FAILED to sync database to disk :: error {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Flushes and fsyncs everything committed so far.
+     */
+    public void sync() {
+        long start = System.nanoTime();
+        jdbcTemplate.execute(SYNC_SQL);
+        Timer timer = syncTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.pismo.demo.diagnostics;
+
+import com.pismo.demo.config.VirtualThreadProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports where virtual threads get pinned to their carrier, from the JFR
+ * {@code jdk.VirtualThreadPinned} event: a virtual thread that blocks inside a {@code synchronized}
+ * block or a native frame (typically a JDBC driver) holds its carrier for that long.
+ * <p>
+ * Events are grouped by the frame that blocked, preferring the first application frame so that all
+ * pinning inside one driver call counts as one site. The first event of a site is logged with its
+ * stack; the sites are listed at {@code /actuator/pinning}.
+ */
+public class PinnedThreadMonitor implements SmartLifecycle, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.pismo.";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Duration threshold;
+    private final int maxSites;
+    private final Map<String, PinnedSite> sites = new ConcurrentHashMap<>();
+    private final LongAdder pinnedEvents = new LongAdder();
+    private volatile RecordingStream stream;
+
+    public PinnedThreadMonitor(VirtualThreadProperties properties) {
+        this.threshold = properties.getPinnedThreshold();
+        this.maxSites = properties.getMaxPinnedSites();
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(EVENT, this::record);
+        recording.startAsync();
+        stream = recording;
+        log.info("Reporting virtual threads pinned for at least {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    /**
+     * Pinning sites, most frequent first.
+     */
+    public List<PinnedSiteSummary> getSites() {
+        List<PinnedSiteSummary> summaries = new ArrayList<>(sites.size());
+        sites.forEach((site, stats) -> summaries.add(stats.summary(site)));
+        summaries.sort(Comparator.comparingLong(PinnedSiteSummary::count).reversed());
+        return summaries;
+    }
+
+    void record(RecordedEvent event) {
+        pinnedEvents.increment();
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        String site = site(frames);
+        PinnedSite stats = sites.get(site);
+        if (stats == null) {
+            if (sites.size() >= maxSites) {
+                return;
+            }
+            stats = new PinnedSite(describe(frames));
+            if (sites.putIfAbsent(site, stats) == null) {
+                log.warn("Virtual thread pinned for {} ms at {}\n\t{}",
+                        event.getDuration().toMillis(), site, String.join("\n\t", stats.stack));
+            } else {
+                stats = sites.get(site);
+            }
+        }
+        stats.add(event.getDuration());
+    }
+
+    private static String site(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return format(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : format(frames.get(0));
+    }
+
+    private static List<String> describe(List<RecordedFrame> frames) {
+        List<String> stack = new ArrayList<>(Math.min(frames.size(), LOGGED_FRAMES));
+        for (int i = 0; i < frames.size() && i < LOGGED_FRAMES; i++) {
+            stack.add(format(frames.get(i)));
+        }
+        return stack;
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jvm.threads.virtual.pinned", pinnedEvents, LongAdder::sum)
+                .description("Virtual threads that blocked while pinned to their carrier beyond the threshold")
+                .register(registry);
+    }
+
+    private static final class PinnedSite {
+        private final List<String> stack;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private PinnedSite(List<String> stack) {
+            this.stack = stack;
+        }
+
+        private void add(Duration duration) {
+            count.increment();
+            totalNanos.add(duration.toNanos());
+            maxNanos.accumulate(duration.toNanos());
+        }
+
+        private PinnedSiteSummary summary(String site) {
+            return new PinnedSiteSummary(site, count.sum(), totalNanos.sum() / 1_000_000,
+                    maxNanos.get() / 1_000_000, stack);
+        }
+    }
+
+    public record PinnedSiteSummary(String site, long count, long totalMs, long maxMs, List<String> stack) {}
+}
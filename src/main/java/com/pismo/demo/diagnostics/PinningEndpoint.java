@@ -0,0 +1,24 @@
+package com.pismo.demo.diagnostics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * Lists where virtual threads were pinned at {@code /actuator/pinning}; only present with virtual threads enabled.
+ */
+@Endpoint(id = "pinning")
+public class PinningEndpoint {
+
+    private final PinnedThreadMonitor monitor;
+
+    public PinningEndpoint(PinnedThreadMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @ReadOperation
+    public List<PinnedThreadMonitor.PinnedSiteSummary> sites() {
+        return monitor.getSites();
+    }
+}
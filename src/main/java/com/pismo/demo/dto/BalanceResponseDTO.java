@@ -0,0 +1,17 @@
+package com.pismo.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record BalanceResponseDTO(
+        @JsonProperty("account_id")
+        Long accountId,
+
+        @JsonProperty("balance")
+        BigDecimal balance,
+
+        @JsonProperty("as_of")
+        LocalDateTime asOf
+) {}
@@ -0,0 +1,29 @@
+package com.pismo.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+/**
+ * One transaction of a batch request; carries its own idempotency key instead of the {@code key} header.
+ */
+public record BatchTransactionItemDTO(
+        @NotBlank(message = "Idempotency key is required")
+        @JsonProperty("idempotency_key")
+        String idempotencyKey,
+
+        @NotNull(message = "Account ID is required")
+        @JsonProperty("account_id")
+        Long accountId,
+
+        @NotNull(message = "Operation Type ID is required")
+        @JsonProperty("operation_type_id")
+        Integer operationTypeId,
+
+        @NotNull(message = "Amount is required")
+        @Positive(message = "Amount must be positive")
+        BigDecimal amount
+) {}
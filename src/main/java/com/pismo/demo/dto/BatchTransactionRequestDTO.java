@@ -0,0 +1,13 @@
+package com.pismo.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record BatchTransactionRequestDTO(
+        @NotEmpty(message = "At least one transaction is required")
+        @JsonProperty("transactions")
+        List<@Valid BatchTransactionItemDTO> transactions
+) {}
@@ -0,0 +1,10 @@
+package com.pismo.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record BatchTransactionResponseDTO(
+        @JsonProperty("results")
+        List<BatchTransactionResultDTO> results
+) {}
@@ -0,0 +1,49 @@
+package com.pismo.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Outcome of one item of a batch request, in request order. {@code transaction} is set for
+ * {@code CREATED} and {@code REPLAYED} items, {@code error} for all others.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchTransactionResultDTO(
+        @JsonProperty("idempotency_key")
+        String idempotencyKey,
+
+        @JsonProperty("status")
+        Status status,
+
+        @JsonProperty("transaction")
+        TransactionResponseDTO transaction,
+
+        @JsonProperty("error")
+        String error
+) {
+
+    public enum Status {
+        /** Applied by this request. */
+        CREATED,
+        /** The key was used before; the original transaction is returned. */
+        REPLAYED,
+        /** Rejected before touching the ledger, e.g. an unknown operation type. */
+        INVALID,
+        NOT_FOUND,
+        /** The debit would exceed the account's limit. */
+        DECLINED,
+        FAILED
+    }
+
+    public static BatchTransactionResultDTO created(String idempotencyKey, TransactionResponseDTO transaction) {
+        return new BatchTransactionResultDTO(idempotencyKey, Status.CREATED, transaction, null);
+    }
+
+    public static BatchTransactionResultDTO replayed(String idempotencyKey, TransactionResponseDTO transaction) {
+        return new BatchTransactionResultDTO(idempotencyKey, Status.REPLAYED, transaction, null);
+    }
+
+    public static BatchTransactionResultDTO failed(String idempotencyKey, Status status, String error) {
+        return new BatchTransactionResultDTO(idempotencyKey, status, null, error);
+    }
+}
@@ -0,0 +1,59 @@
+package com.pismo.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Progress or outcome of an NDJSON import. Every line up to {@code lastCommittedLine} has been
+ * committed or reported as failed; an interrupted import is resumed from there.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportReportDTO(
+        @JsonProperty("import_id")
+        String importId,
+
+        @JsonProperty("type")
+        String type,
+
+        @JsonProperty("status")
+        Status status,
+
+        @JsonProperty("lines_read")
+        long linesRead,
+
+        @JsonProperty("imported")
+        long imported,
+
+        @JsonProperty("skipped")
+        long skipped,
+
+        @JsonProperty("failed")
+        long failed,
+
+        @JsonProperty("last_committed_line")
+        long lastCommittedLine,
+
+        @JsonProperty("errors")
+        List<LineError> errors,
+
+        @JsonProperty("abort_reason")
+        String abortReason
+) {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        /** Stopped by an unexpected error; resume from {@code last_committed_line}. */
+        ABORTED
+    }
+
+    public record LineError(
+            @JsonProperty("line")
+            long line,
+
+            @JsonProperty("error")
+            String error
+    ) {}
+}
@@ -0,0 +1,44 @@
+package com.pismo.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One line of a transaction import. Only the NDJSON import accepts an event date; the batch endpoint
+ * always books at the time of processing.
+ *
+ * @param eventDate optional, for loading historical transactions; defaults to the time of processing.
+ *                  Must not lie in the future nor on a day that already has balance snapshots.
+ */
+public record ImportTransactionItemDTO(
+        @NotBlank(message = "Idempotency key is required")
+        @JsonProperty("idempotency_key")
+        String idempotencyKey,
+
+        @NotNull(message = "Account ID is required")
+        @JsonProperty("account_id")
+        Long accountId,
+
+        @NotNull(message = "Operation Type ID is required")
+        @JsonProperty("operation_type_id")
+        Integer operationTypeId,
+
+        @NotNull(message = "Amount is required")
+        @Positive(message = "Amount must be positive")
+        BigDecimal amount,
+
+        @PastOrPresent(message = "Event date must not be in the future")
+        @JsonProperty("event_date")
+        LocalDateTime eventDate
+) {
+
+    public BatchTransactionItemDTO item() {
+        return new BatchTransactionItemDTO(idempotencyKey, accountId, operationTypeId, amount);
+    }
+}
@@ -0,0 +1,16 @@
+package com.pismo.demo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Rows of a transaction export: one account's transactions, or every account's, within an
+ * optional {@code event_date} range.
+ *
+ * @param from inclusive lower bound of {@code event_date}.
+ * @param to   exclusive upper bound of {@code event_date}.
+ */
+public record TransactionExportQuery(
+        Long accountId,
+        LocalDateTime from,
+        LocalDateTime to
+) {}
@@ -0,0 +1,18 @@
+package com.pismo.demo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters and position of a transaction history page; every field except {@code limit} is optional.
+ *
+ * @param from   inclusive lower bound of {@code event_date}.
+ * @param to     exclusive upper bound of {@code event_date}.
+ * @param cursor the {@code next_cursor} of the previous page.
+ */
+public record TransactionHistoryQuery(
+        LocalDateTime from,
+        LocalDateTime to,
+        Integer operationTypeId,
+        String cursor,
+        int limit
+) {}
@@ -0,0 +1,17 @@
+package com.pismo.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * A page of an account's transactions, newest first. Pass {@code next_cursor} as {@code cursor}
+ * to get the following page; it is {@code null} on the last page.
+ */
+public record TransactionPageDTO(
+        @JsonProperty("transactions")
+        List<TransactionResponseDTO> transactions,
+
+        @JsonProperty("next_cursor")
+        String nextCursor
+) {}
@@ -13,8 +13,14 @@ import java.time.LocalDateTime;
 @Table(name = "account")
 public class Account {
 
+    /**
+     * How far below zero a debit may take the balance.
+     */
+    public static final BigDecimal CREDIT_LIMIT = BigDecimal.valueOf(1000);
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_seq")
+    @SequenceGenerator(name = "account_seq", sequenceName = "account_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -33,6 +39,10 @@ public class Account {
     @Column(name = "balance", nullable = false)
     private BigDecimal balance = BigDecimal.valueOf(0);
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public BigDecimal getBalance() {
         return balance;
     }
@@ -73,4 +83,12 @@ public class Account {
     public void setUpdatedOn(LocalDateTime updatedOn) {
         this.updatedOn = updatedOn;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
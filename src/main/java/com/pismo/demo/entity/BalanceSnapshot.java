@@ -0,0 +1,89 @@
+package com.pismo.demo.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Closing balance of an account at the end of a day on which it had transactions, written by
+ * {@code BalanceSnapshotCompactor} once the day is over and kept current by every later
+ * transaction dated on or before that day.
+ */
+@Entity
+@Table(name = "balance_snapshot")
+@IdClass(BalanceSnapshot.Key.class)
+public class BalanceSnapshot {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Id
+    @Column(name = "snapshot_date")
+    private LocalDate snapshotDate;
+
+    @Column(name = "balance", nullable = false)
+    private BigDecimal balance;
+
+    public BalanceSnapshot() {
+    }
+
+    public BalanceSnapshot(Long accountId, LocalDate snapshotDate, BigDecimal balance) {
+        this.accountId = accountId;
+        this.snapshotDate = snapshotDate;
+        this.balance = balance;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public LocalDate getSnapshotDate() {
+        return snapshotDate;
+    }
+
+    public void setSnapshotDate(LocalDate snapshotDate) {
+        this.snapshotDate = snapshotDate;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public static class Key implements Serializable {
+
+        private Long accountId;
+        private LocalDate snapshotDate;
+
+        public Key() {
+        }
+
+        public Key(Long accountId, LocalDate snapshotDate) {
+            this.accountId = accountId;
+            this.snapshotDate = snapshotDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key
+                    && Objects.equals(accountId, key.accountId)
+                    && Objects.equals(snapshotDate, key.snapshotDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountId, snapshotDate);
+        }
+    }
+}
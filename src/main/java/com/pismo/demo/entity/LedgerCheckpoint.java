@@ -0,0 +1,38 @@
+package com.pismo.demo.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position of the event-sourced ledger's balance checkpoint: the {@code log_seq} of the last transaction
+ * included in {@code account.balance}; a single row with id 1. Read and written with JDBC by
+ * {@code EventLog}, mapped so that the schema is generated outside the prod profile and validated
+ * against the Flyway migrations in it.
+ */
+@Entity
+@Table(name = "ledger_checkpoint")
+public class LedgerCheckpoint {
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "last_log_seq", nullable = false)
+    private Long lastLogSeq;
+
+    @Column(name = "created_on", nullable = false)
+    private LocalDateTime createdOn;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Long getLastLogSeq() {
+        return lastLogSeq;
+    }
+
+    public LocalDateTime getCreatedOn() {
+        return createdOn;
+    }
+}
@@ -5,11 +5,17 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transaction")
+@Table(name = "transaction", indexes = {
+        // Serves per-account history pages, newest first, with (event_date, id) as the seek key.
+        @Index(name = "idx_transaction_account_event_date", columnList = "account_id, event_date, id"),
+        // Serves exports across all accounts by event_date range (e.g. daily dumps).
+        @Index(name = "idx_transaction_event_date", columnList = "event_date, id")
+})
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -29,6 +35,10 @@ public class Transaction {
     @Column(name = "idempotency_key", unique = true, nullable = false)
     private String idempotencyKey;
 
+    // Position in the event-sourced ledger's log; null for transactions written in the other ledger modes.
+    @Column(name = "log_seq", unique = true)
+    private Long logSeq;
+
     public Long getId() {
         return id;
     }
@@ -76,4 +86,12 @@ public class Transaction {
     public void setIdempotencyKey(String idempotencyKey) {
         this.idempotencyKey = idempotencyKey;
     }
+
+    public Long getLogSeq() {
+        return logSeq;
+    }
+
+    public void setLogSeq(Long logSeq) {
+        this.logSeq = logSeq;
+    }
 }
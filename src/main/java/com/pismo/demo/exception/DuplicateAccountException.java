@@ -0,0 +1,21 @@
+package com.pismo.demo.exception;
+
+/**
+ * An account with the requested document number already exists.
+ * <p>
+ * Thrown on the expected path of onboarding retries, so it carries no stack trace: filling one in
+ * is the expensive part of an exception and it would never be read.
+ */
+public class DuplicateAccountException extends RuntimeException {
+
+    private final Long accountId;
+
+    public DuplicateAccountException(Long accountId) {
+        super("An account with this document number already exists.", null, false, false);
+        this.accountId = accountId;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+}
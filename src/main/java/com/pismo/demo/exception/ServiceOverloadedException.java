@@ -0,0 +1,28 @@
+package com.pismo.demo.exception;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Work was turned away because the service is saturated; the client should retry after {@link #getRetryAfter()}.
+ * <p>
+ * Raised precisely when the service is under the most pressure, so it carries no stack trace.
+ */
+public class ServiceOverloadedException extends RejectedExecutionException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,23 @@
+package com.pismo.demo.exception;
+
+import java.time.Duration;
+
+/**
+ * A request was refused by admission control before any work was done; the client should retry
+ * after {@link #getRetryAfter()}.
+ * <p>
+ * Thrown on every refused request of a flood, so it carries no stack trace.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
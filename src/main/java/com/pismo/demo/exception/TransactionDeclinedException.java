@@ -0,0 +1,24 @@
+package com.pismo.demo.exception;
+
+import com.pismo.demo.service.TransactionDecline;
+
+/**
+ * A transaction was declined for a business reason, for callers of the exception-based APIs.
+ * <p>
+ * One instance per {@link TransactionDecline} is shared by every decline, so it is created without a
+ * writable stack trace and with suppression disabled: a caller adding a suppressed exception cannot
+ * leak it into every later decline. Handlers map it to 400 like an {@link IllegalArgumentException}.
+ */
+public class TransactionDeclinedException extends RuntimeException {
+
+    private final transient TransactionDecline reason;
+
+    public TransactionDeclinedException(TransactionDecline reason) {
+        super(reason.message(), null, false, false);
+        this.reason = reason;
+    }
+
+    public TransactionDecline getReason() {
+        return reason;
+    }
+}
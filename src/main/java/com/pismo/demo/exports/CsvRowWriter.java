@@ -0,0 +1,46 @@
+package com.pismo.demo.exports;
+
+import com.pismo.demo.dto.TransactionResponseDTO;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CSV with a header line. Every column is a number or an ISO date-time, so no value needs quoting.
+ */
+class CsvRowWriter implements TransactionRowWriter {
+
+    static final String HEADER = "transaction_id,account_id,operation_type_id,amount,event_date\n";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+
+    CsvRowWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(HEADER);
+    }
+
+    @Override
+    public void write(TransactionResponseDTO transaction) throws IOException {
+        writer.write(String.valueOf(transaction.transactionId()));
+        writer.write(',');
+        writer.write(String.valueOf(transaction.accountId()));
+        writer.write(',');
+        writer.write(String.valueOf(transaction.operationTypeId()));
+        writer.write(',');
+        writer.write(transaction.amount().toPlainString());
+        writer.write(',');
+        writer.write(transaction.eventDate().toString());
+        writer.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+}
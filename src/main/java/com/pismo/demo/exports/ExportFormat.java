@@ -0,0 +1,57 @@
+package com.pismo.demo.exports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Output formats of transaction exports.
+ */
+public enum ExportFormat {
+
+    CSV("text/csv", "csv") {
+        @Override
+        public TransactionRowWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            return new CsvRowWriter(out);
+        }
+    },
+
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE, "ndjson") {
+        @Override
+        public TransactionRowWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            return new NdjsonRowWriter(out, objectMapper);
+        }
+    };
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * Starts writing rows to {@code out}; the writer buffers and never closes {@code out}.
+     */
+    public abstract TransactionRowWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException;
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public static ExportFormat from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.pismo.demo.exports;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Gives a single async request its own timeout. {@code StreamingResponseBody} has no timeout of its own
+ * and would run under {@code spring.mvc.async.request-timeout}, which also bounds the transaction
+ * endpoints; a handler calls {@link #apply} instead, and the timeout is set on the request just before
+ * its async processing starts.
+ */
+public class ExportRequestTimeout implements CallableProcessingInterceptor {
+
+    private static final String TIMEOUT_ATTRIBUTE = ExportRequestTimeout.class.getName() + ".TIMEOUT";
+
+    public static void apply(HttpServletRequest request, Duration timeout) {
+        request.setAttribute(TIMEOUT_ATTRIBUTE, timeout);
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        if (request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Duration timeout
+                && request instanceof AsyncWebRequest asyncRequest) {
+            asyncRequest.setTimeout(timeout.toMillis());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.pismo.demo.exports;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pismo.demo.dto.TransactionResponseDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * One JSON object per line, in the same shape as the transaction API responses.
+ */
+class NdjsonRowWriter implements TransactionRowWriter {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter rowWriter;
+
+    NdjsonRowWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Rows are separated by the newline written after each one, not by Jackson's default space;
+        // the generator's buffer fills up instead of the response being flushed after every row.
+        this.rowWriter = objectMapper.writerFor(TransactionResponseDTO.class)
+                .withRootValueSeparator("")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void write(TransactionResponseDTO transaction) throws IOException {
+        rowWriter.writeValue(generator, transaction);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.flush();
+    }
+}
@@ -0,0 +1,18 @@
+package com.pismo.demo.exports;
+
+import com.pismo.demo.dto.TransactionResponseDTO;
+
+import java.io.IOException;
+
+/**
+ * Writes exported transactions one row at a time, so an export never holds more than its buffer.
+ */
+public interface TransactionRowWriter {
+
+    void write(TransactionResponseDTO transaction) throws IOException;
+
+    /**
+     * Flushes buffered rows; the underlying stream stays open.
+     */
+    void finish() throws IOException;
+}
@@ -0,0 +1,169 @@
+package com.pismo.demo.idempotency;
+
+import com.pismo.demo.cache.BoundedCache;
+import com.pismo.demo.config.IdempotencyProperties;
+import com.pismo.demo.dto.TransactionResponseDTO;
+import com.pismo.demo.repository.TransactionRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Answers "was this idempotency key used before?" without a database round trip in the common cases.
+ * <p>
+ * Recently recorded keys are served from a bounded LRU/TTL cache of their responses, so client
+ * retries replay without touching the database. Keys the {@link ScalableBloomFilter} has never
+ * seen are new for certain and skip the lookup entirely; only cache misses that the filter cannot
+ * rule out (older keys and false positives) are looked up in {@code transaction}. The unique
+ * constraint on {@code idempotency_key} remains the final authority, e.g. for keys written by
+ * another instance after this one loaded its filter.
+ * <p>
+ * The filter is loaded from the table once the application is ready; until then every cache miss
+ * goes to the database.
+ */
+@Component
+public class IdempotencyRegistry implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyRegistry.class);
+
+    private static final int LOOKUP_CHUNK_SIZE = 1_000;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ScalableBloomFilter bloomFilter;
+    private final BoundedCache<String, TransactionResponseDTO> recentResponses;
+    private final LongAdder skippedLookups = new LongAdder();
+    private final LongAdder databaseLookups = new LongAdder();
+    private volatile boolean filterReady;
+
+    public IdempotencyRegistry(TransactionRepository transactionRepository,
+                               PlatformTransactionManager transactionManager,
+                               IdempotencyProperties properties) {
+        this.transactionRepository = transactionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.bloomFilter = new ScalableBloomFilter(properties.getExpectedKeys(), properties.getFalsePositiveRate());
+        this.recentResponses = new BoundedCache<>("idempotency", properties.getCacheMaxSize(), properties.getCacheTtl());
+    }
+
+    /**
+     * Returns the response previously produced for {@code idempotencyKey}, if any.
+     */
+    public Optional<TransactionResponseDTO> find(String idempotencyKey) {
+        TransactionResponseDTO cached = recentResponses.get(idempotencyKey);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        if (filterReady && !bloomFilter.mightContain(idempotencyKey)) {
+            skippedLookups.increment();
+            return Optional.empty();
+        }
+        return findInDatabase(idempotencyKey);
+    }
+
+    /**
+     * Set-based {@link #find}: returns the stored responses of those {@code idempotencyKeys} that were
+     * used before. Keys not answered by the cache or the filter are looked up with one query per
+     * {@value #LOOKUP_CHUNK_SIZE} keys.
+     */
+    public Map<String, TransactionResponseDTO> findAll(Collection<String> idempotencyKeys) {
+        Map<String, TransactionResponseDTO> found = new HashMap<>();
+        List<String> lookups = new ArrayList<>();
+        for (String idempotencyKey : idempotencyKeys) {
+            TransactionResponseDTO cached = recentResponses.get(idempotencyKey);
+            if (cached != null) {
+                found.put(idempotencyKey, cached);
+            } else if (filterReady && !bloomFilter.mightContain(idempotencyKey)) {
+                skippedLookups.increment();
+            } else {
+                lookups.add(idempotencyKey);
+            }
+        }
+        for (int from = 0; from < lookups.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = lookups.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, lookups.size()));
+            databaseLookups.add(chunk.size());
+            for (StoredResponse stored : transactionRepository.findResponsesByIdempotencyKeyIn(chunk)) {
+                recentResponses.put(stored.idempotencyKey(), stored.response());
+                found.put(stored.idempotencyKey(), stored.response());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the response only if it is in the cache of recently recorded keys.
+     */
+    public Optional<TransactionResponseDTO> findRecent(String idempotencyKey) {
+        return Optional.ofNullable(recentResponses.get(idempotencyKey));
+    }
+
+    /**
+     * Looks the key up in the database, bypassing the filter, and caches a hit.
+     */
+    public Optional<TransactionResponseDTO> findInDatabase(String idempotencyKey) {
+        databaseLookups.increment();
+        Optional<TransactionResponseDTO> stored = transactionRepository.findResponseByIdempotencyKey(idempotencyKey);
+        stored.ifPresent(response -> recentResponses.put(idempotencyKey, response));
+        return stored;
+    }
+
+    /**
+     * Registers a key whose transaction has been committed.
+     */
+    public void record(String idempotencyKey, TransactionResponseDTO response) {
+        bloomFilter.put(idempotencyKey);
+        recentResponses.put(idempotencyKey, response);
+    }
+
+    public boolean isFilterReady() {
+        return filterReady;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFilterInBackground() {
+        Thread loader = new Thread(this::loadFilter, "idempotency-filter-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    void loadFilter() {
+        long started = System.nanoTime();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> keys = transactionRepository.streamAllIdempotencyKeys()) {
+                    keys.forEach(bloomFilter::put);
+                }
+            });
+            filterReady = true;
+            log.info("Idempotency filter loaded with ~{} keys in {} ms",
+                    bloomFilter.getApproximateCount(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("FAILED to load idempotency filter, every cache miss will query the database :: error {}",
+                    e.getMessage());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        recentResponses.bindTo(registry);
+        FunctionCounter.builder("idempotency.lookups", skippedLookups, LongAdder::sum)
+                .tag("source", "bloom-filter")
+                .description("Idempotency keys proven new by the Bloom filter without a database query")
+                .register(registry);
+        FunctionCounter.builder("idempotency.lookups", databaseLookups, LongAdder::sum)
+                .tag("source", "database")
+                .description("Idempotency keys that had to be looked up in the database")
+                .register(registry);
+    }
+}
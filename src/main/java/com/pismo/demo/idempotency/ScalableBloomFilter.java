@@ -0,0 +1,169 @@
+package com.pismo.demo.idempotency;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe Bloom filter over strings that grows as keys are added.
+ * <p>
+ * {@link #mightContain} never returns {@code false} for a key that was {@link #put}, so a negative
+ * answer proves the key is new. The filter is a chain of fixed-size layers: when the newest layer
+ * has taken its planned number of keys, a layer twice as large with half the false-positive rate
+ * is appended, which keeps the overall false-positive rate below the configured bound however many
+ * keys arrive. Bits are set with CAS, so writers never block readers.
+ */
+public class ScalableBloomFilter {
+
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private final Object growLock = new Object();
+    private volatile Layer[] layers;
+
+    /**
+     * @param initialCapacity   keys the first layer is sized for
+     * @param falsePositiveRate upper bound on the false-positive rate of the whole filter
+     */
+    public ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        // The rates of all layers form a geometric series summing to the requested bound.
+        this.layers = new Layer[]{new Layer(Math.max(1, initialCapacity), falsePositiveRate * (1 - TIGHTENING_RATIO))};
+    }
+
+    public boolean mightContain(String key) {
+        long hash1 = hash(key, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(key, 0xC2B2AE3D27D4EB4FL);
+        for (Layer layer : layers) {
+            if (layer.mightContain(hash1, hash2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void put(String key) {
+        long hash1 = hash(key, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(key, 0xC2B2AE3D27D4EB4FL);
+        Layer[] current = layers;
+        Layer newest = current[current.length - 1];
+        if (newest.isFull()) {
+            newest = grow(current);
+        }
+        newest.put(hash1, hash2);
+    }
+
+    public int getLayerCount() {
+        return layers.length;
+    }
+
+    /**
+     * Approximate number of keys added so far.
+     */
+    public long getApproximateCount() {
+        long count = 0;
+        for (Layer layer : layers) {
+            count += layer.count.sum();
+        }
+        return count;
+    }
+
+    public long getBitCount() {
+        long bits = 0;
+        for (Layer layer : layers) {
+            bits += layer.bitCount;
+        }
+        return bits;
+    }
+
+    private Layer grow(Layer[] seen) {
+        synchronized (growLock) {
+            Layer[] current = layers;
+            if (current == seen) {
+                Layer last = current[current.length - 1];
+                Layer[] grown = new Layer[current.length + 1];
+                System.arraycopy(current, 0, grown, 0, current.length);
+                grown[current.length] = new Layer(last.capacity * GROWTH_FACTOR, last.falsePositiveRate * TIGHTENING_RATIO);
+                layers = grown;
+                current = grown;
+            }
+            return current[current.length - 1];
+        }
+    }
+
+    private static long hash(String key, long seed) {
+        long h = seed;
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            h ^= b;
+            h *= 0x100000001B3L;
+        }
+        h ^= bytes.length;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Layer {
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+        private final LongAdder count = new LongAdder();
+
+        private Layer(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            double ln2 = Math.log(2);
+            long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = wordCount * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+        }
+
+        private boolean isFull() {
+            return count.sum() >= capacity;
+        }
+
+        private boolean mightContain(long hash1, long hash2) {
+            long combined = hash1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(combined, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+                combined += hash2;
+            }
+            return true;
+        }
+
+        private void put(long hash1, long hash2) {
+            long combined = hash1;
+            boolean changed = false;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(combined, bitCount);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long word = words.get(index);
+                while ((word & mask) == 0) {
+                    if (words.compareAndSet(index, word, word | mask)) {
+                        changed = true;
+                        break;
+                    }
+                    word = words.get(index);
+                }
+                combined += hash2;
+            }
+            if (changed) {
+                count.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.pismo.demo.idempotency;
+
+import com.pismo.demo.dto.TransactionResponseDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A committed transaction's response together with its idempotency key, for set-based lookups.
+ */
+public record StoredResponse(String idempotencyKey, TransactionResponseDTO response) {
+
+    public StoredResponse(String idempotencyKey, Long transactionId, Long accountId, Integer operationTypeId,
+                          BigDecimal amount, LocalDateTime eventDate) {
+        this(idempotencyKey, new TransactionResponseDTO(transactionId, accountId, operationTypeId, amount, eventDate));
+    }
+}
@@ -0,0 +1,90 @@
+package com.pismo.demo.imports;
+
+import com.pismo.demo.dto.ImportReportDTO;
+import com.pismo.demo.dto.ImportReportDTO.LineError;
+import com.pismo.demo.dto.ImportReportDTO.Status;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Counters of one running import. Updated only by the importing thread; the volatile fields let
+ * the imports endpoint read a reasonably current snapshot without locking.
+ */
+class ImportProgress {
+
+    private final String importId;
+    private final String type;
+    private final int maxReportedErrors;
+    private final List<LineError> errors = new ArrayList<>();
+    private volatile Status status = Status.RUNNING;
+    private volatile long linesRead;
+    private volatile long imported;
+    private volatile long skipped;
+    private volatile long failed;
+    private volatile long lastCommittedLine;
+    private volatile String abortReason;
+
+    ImportProgress(String importId, String type, long resumeFromLine, int maxReportedErrors) {
+        this.importId = importId;
+        this.type = type;
+        this.maxReportedErrors = maxReportedErrors;
+        this.lastCommittedLine = resumeFromLine;
+    }
+
+    String getImportId() {
+        return importId;
+    }
+
+    Status getStatus() {
+        return status;
+    }
+
+    long getLinesRead() {
+        return linesRead;
+    }
+
+    void lineRead() {
+        linesRead++;
+    }
+
+    void fail(long line, String error) {
+        failed++;
+        synchronized (errors) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new LineError(line, error));
+            }
+        }
+    }
+
+    void chunkCommitted(long imported, long skipped, long lastLine) {
+        this.imported += imported;
+        this.skipped += skipped;
+        this.lastCommittedLine = lastLine;
+    }
+
+    void committedThrough(long lastLine) {
+        this.lastCommittedLine = lastLine;
+    }
+
+    void complete() {
+        status = Status.COMPLETED;
+    }
+
+    void abort(String reason) {
+        abortReason = reason;
+        status = Status.ABORTED;
+    }
+
+    ImportReportDTO toReport() {
+        List<LineError> reportedErrors;
+        synchronized (errors) {
+            reportedErrors = new ArrayList<>(errors);
+        }
+        // Chunk errors are reported after the validation errors of later lines read in the meantime.
+        reportedErrors.sort(Comparator.comparingLong(LineError::line));
+        return new ImportReportDTO(importId, type, status, linesRead, imported, skipped, failed,
+                lastCommittedLine, reportedErrors, abortReason);
+    }
+}
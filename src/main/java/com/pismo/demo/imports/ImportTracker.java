@@ -0,0 +1,46 @@
+package com.pismo.demo.imports;
+
+import com.pismo.demo.dto.ImportReportDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Running imports and the outcome of the most recent finished ones, for the imports endpoint.
+ */
+@Component
+public class ImportTracker {
+
+    private static final int FINISHED_KEPT = 20;
+
+    private final Map<String, ImportProgress> running = new ConcurrentHashMap<>();
+    private final Deque<ImportReportDTO> finished = new ArrayDeque<>();
+
+    void started(ImportProgress progress) {
+        running.put(progress.getImportId(), progress);
+    }
+
+    void finished(ImportProgress progress) {
+        running.remove(progress.getImportId());
+        synchronized (finished) {
+            finished.addFirst(progress.toReport());
+            if (finished.size() > FINISHED_KEPT) {
+                finished.removeLast();
+            }
+        }
+    }
+
+    public List<ImportReportDTO> getImports() {
+        List<ImportReportDTO> imports = new ArrayList<>();
+        running.values().forEach(progress -> imports.add(progress.toReport()));
+        synchronized (finished) {
+            imports.addAll(finished);
+        }
+        return imports;
+    }
+}
@@ -0,0 +1,27 @@
+package com.pismo.demo.imports;
+
+import com.pismo.demo.dto.ImportReportDTO;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Shows running and recently finished imports at {@code /actuator/imports}.
+ */
+@Component
+@Endpoint(id = "imports")
+public class ImportsEndpoint {
+
+    private final ImportTracker importTracker;
+
+    public ImportsEndpoint(ImportTracker importTracker) {
+        this.importTracker = importTracker;
+    }
+
+    @ReadOperation
+    public List<ImportReportDTO> imports() {
+        return importTracker.getImports();
+    }
+}
@@ -0,0 +1,154 @@
+package com.pismo.demo.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.pismo.demo.config.ImportProperties;
+import com.pismo.demo.dto.ImportReportDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Reads newline-delimited JSON from a stream, one line at a time, and hands valid records to a
+ * {@link ChunkWriter} in chunks of {@code imports.chunk-size}. Only the current line and chunk are
+ * held in memory, so heap use does not depend on the size of the upload.
+ * <p>
+ * Malformed and invalid lines are reported with their line number and skipped. Lines up to
+ * {@code resumeFromLine} are read but not parsed, so an interrupted import can be resent and
+ * continued from the {@code last_committed_line} of its report.
+ */
+@Component
+public class NdjsonImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(NdjsonImporter.class);
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ImportProperties properties;
+    private final ImportTracker importTracker;
+
+    public NdjsonImporter(ObjectMapper objectMapper, Validator validator, ImportProperties properties,
+                          ImportTracker importTracker) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.properties = properties;
+        this.importTracker = importTracker;
+    }
+
+    /**
+     * Writes one chunk of valid records and returns the errors of those it could not write.
+     */
+    @FunctionalInterface
+    public interface ChunkWriter<T> {
+        ChunkResult write(List<T> records);
+    }
+
+    /**
+     * @param skipped records that were already present (e.g. from an earlier attempt of this import).
+     * @param errors  error messages by index in the chunk.
+     */
+    public record ChunkResult(int skipped, Map<Integer, String> errors) {
+    }
+
+    public <T> ImportReportDTO importLines(String type, InputStream input, long resumeFromLine, int maxChunkSize,
+                                           Class<T> recordType, ChunkWriter<T> writer) {
+        ImportProgress progress = new ImportProgress(UUID.randomUUID().toString(), type, resumeFromLine,
+                properties.getMaxReportedErrors());
+        importTracker.started(progress);
+        log.info("import {} of {} started, resuming after line {}", progress.getImportId(), type, resumeFromLine);
+
+        ObjectReader reader = objectMapper.readerFor(recordType);
+        int chunkSize = Math.max(1, Math.min(properties.getChunkSize(), maxChunkSize));
+        List<T> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= resumeFromLine) {
+                    continue;
+                }
+                progress.lineRead();
+                if (progress.getLinesRead() % properties.getProgressInterval() == 0) {
+                    log.info("import {} of {}: {} lines read", progress.getImportId(), type, progress.getLinesRead());
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                T record = parse(reader, line, lineNumber, progress);
+                if (record == null) {
+                    continue;
+                }
+                chunk.add(record);
+                chunkLines.add(lineNumber);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(writer, chunk, chunkLines, lineNumber, progress);
+                }
+            }
+            writeChunk(writer, chunk, chunkLines, lineNumber, progress);
+            progress.committedThrough(Math.max(lineNumber, resumeFromLine));
+            progress.complete();
+        } catch (IOException | RuntimeException e) {
+            log.error("FAILED import {} of {} at line {} :: error {}", progress.getImportId(), type, lineNumber,
+                    e.getMessage());
+            progress.abort(e.getMessage());
+        } finally {
+            importTracker.finished(progress);
+        }
+        ImportReportDTO report = progress.toReport();
+        log.info("import {} of {} {}: {} imported, {} skipped, {} failed", report.importId(), type,
+                report.status(), report.imported(), report.skipped(), report.failed());
+        return report;
+    }
+
+    private <T> T parse(ObjectReader reader, String line, long lineNumber, ImportProgress progress) {
+        T record;
+        try {
+            record = reader.readValue(line);
+        } catch (JsonProcessingException e) {
+            progress.fail(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            return null;
+        }
+        if (record == null) {
+            progress.fail(lineNumber, "Record is null");
+            return null;
+        }
+        var violations = validator.validate(record);
+        if (!violations.isEmpty()) {
+            progress.fail(lineNumber, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        return record;
+    }
+
+    private <T> void writeChunk(ChunkWriter<T> writer, List<T> chunk, List<Long> chunkLines, long lastLine,
+                                ImportProgress progress) {
+        if (chunk.isEmpty()) {
+            progress.committedThrough(lastLine);
+            return;
+        }
+        ChunkResult result = writer.write(chunk);
+        result.errors().forEach((index, error) -> progress.fail(chunkLines.get(index), error));
+        progress.chunkCommitted(chunk.size() - result.skipped() - result.errors().size(), result.skipped(), lastLine);
+        chunk.clear();
+        chunkLines.clear();
+    }
+}
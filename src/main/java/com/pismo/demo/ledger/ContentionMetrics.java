@@ -0,0 +1,135 @@
+package com.pismo.demo.ledger;
+
+import com.pismo.demo.config.LedgerProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts optimistic-locking retries and conflicts, globally and per account.
+ * <p>
+ * A retry is a version conflict that was absorbed by trying again; a conflict is one that
+ * exhausted all attempts and reached the caller. The attempts histogram records how many
+ * attempts each successful optimistic balance update needed, bucket {@code i} holding updates that
+ * succeeded on attempt {@code i + 1}; atomic updates are not recorded.
+ */
+@Component
+public class ContentionMetrics implements MeterBinder {
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder[] attemptsHistogram;
+    private final Map<Long, AccountContention> perAccount = new ConcurrentHashMap<>();
+    private final int maxTrackedAccounts;
+
+    public ContentionMetrics(LedgerProperties properties) {
+        LedgerProperties.Optimistic optimistic = properties.getOptimistic();
+        this.maxTrackedAccounts = optimistic.getMaxTrackedAccounts();
+        this.attemptsHistogram = new LongAdder[Math.max(1, optimistic.getMaxAttempts())];
+        for (int i = 0; i < attemptsHistogram.length; i++) {
+            attemptsHistogram[i] = new LongAdder();
+        }
+    }
+
+    public void recordRetry(long accountId) {
+        retries.increment();
+        AccountContention contention = accountContention(accountId);
+        if (contention != null) {
+            contention.retries.increment();
+        }
+    }
+
+    public void recordConflict(long accountId) {
+        conflicts.increment();
+        AccountContention contention = accountContention(accountId);
+        if (contention != null) {
+            contention.conflicts.increment();
+        }
+    }
+
+    public void recordSuccess(int attempts) {
+        int bucket = Math.min(attempts, attemptsHistogram.length) - 1;
+        attemptsHistogram[Math.max(bucket, 0)].increment();
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getConflicts() {
+        return conflicts.sum();
+    }
+
+    public long[] getAttemptsHistogram() {
+        long[] counts = new long[attemptsHistogram.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = attemptsHistogram[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the retry and conflict counts of one account, or {@code null} if it never contended.
+     */
+    public AccountSnapshot getAccount(long accountId) {
+        AccountContention contention = perAccount.get(accountId);
+        return contention == null ? null : contention.snapshot(accountId);
+    }
+
+    /**
+     * Returns the accounts with the most retries, hottest first.
+     */
+    public List<AccountSnapshot> getHottestAccounts(int limit) {
+        return perAccount.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingLong(AccountSnapshot::retries).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public Map<String, Object> summary(int hottestLimit) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("retries", getRetries());
+        summary.put("conflicts", getConflicts());
+        summary.put("attemptsHistogram", getAttemptsHistogram());
+        summary.put("hottestAccounts", getHottestAccounts(hottestLimit));
+        return summary;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("ledger.optimistic.retries", retries, LongAdder::sum)
+                .description("Version conflicts absorbed by retrying the balance update")
+                .register(registry);
+        FunctionCounter.builder("ledger.optimistic.conflicts", conflicts, LongAdder::sum)
+                .description("Version conflicts that exhausted all retries")
+                .register(registry);
+    }
+
+    private AccountContention accountContention(long accountId) {
+        AccountContention contention = perAccount.get(accountId);
+        if (contention == null && perAccount.size() < maxTrackedAccounts) {
+            contention = perAccount.computeIfAbsent(accountId, id -> new AccountContention());
+        }
+        return contention;
+    }
+
+    public record AccountSnapshot(long accountId, long retries, long conflicts) {}
+
+    private static final class AccountContention {
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder conflicts = new LongAdder();
+
+        private AccountSnapshot snapshot(long accountId) {
+            return new AccountSnapshot(accountId, retries.sum(), conflicts.sum());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.pismo.demo.ledger;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs ledger work inline on the calling thread.
+ */
+public class DirectLedgerExecutor implements LedgerExecutor {
+
+    @Override
+    public <T> T execute(long accountId, Supplier<T> work) {
+        return work.get();
+    }
+}
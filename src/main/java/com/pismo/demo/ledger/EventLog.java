@@ -0,0 +1,203 @@
+package com.pismo.demo.ledger;
+
+import com.pismo.demo.entity.Transaction;
+import com.pismo.demo.repository.AccountRepository;
+import com.pismo.demo.repository.BalanceSnapshotRepository;
+import com.pismo.demo.repository.TransactionRepository;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Database side of the event-sourced ledger: the transaction table as an append-only log, and the
+ * balance checkpoints taken from it. Every method runs in the caller's database transaction.
+ * <p>
+ * Appends are numbered by the writer in {@code transaction.log_seq}, which is unique, so a second
+ * writer on the same database fails its appends instead of interleaving with the first. Transaction
+ * ids come from a pooled sequence and do not follow append order. Checkpoints store the balances in
+ * {@code account.balance} with the {@code log_seq} they include; the appends after it are the tail.
+ */
+@Component
+public class EventLog {
+
+    private static final String CHECKPOINT_POSITION_SQL = "SELECT last_log_seq FROM ledger_checkpoint WHERE id = 1";
+
+    private static final String LOCK_CHECKPOINT_SQL =
+            "SELECT last_log_seq FROM ledger_checkpoint WHERE id = 1 FOR UPDATE";
+
+    private static final String TAIL_SQL = "SELECT account_id, SUM(amount) AS delta, COUNT(*) AS appended, " +
+            "MAX(log_seq) AS last_seq FROM transaction WHERE log_seq > :position GROUP BY account_id ORDER BY account_id";
+
+    private static final String ACCOUNT_BALANCES_SQL = "SELECT id, balance FROM account WHERE id IN (:ids)";
+
+    // Same statement and lock order as the snapshot compactor, so the two never deadlock.
+    private static final String LOCK_ACCOUNTS_SQL = "SELECT id FROM account WHERE id IN (:ids) ORDER BY id FOR UPDATE";
+
+    private static final String ACCOUNT_BALANCE_SQL =
+            "UPDATE account SET balance = :balance, version = version + 1, updated_on = :now WHERE id = :accountId";
+
+    private static final String ACCOUNT_DELTA_SQL =
+            "UPDATE account SET balance = balance + :delta, version = version + 1, updated_on = :now WHERE id = :accountId";
+
+    private static final String MOVE_POSITION_SQL =
+            "UPDATE ledger_checkpoint SET last_log_seq = :position, created_on = :now WHERE id = 1";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+
+    public EventLog(NamedParameterJdbcTemplate namedJdbcTemplate,
+                    TransactionRepository transactionRepository,
+                    AccountRepository accountRepository) {
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+    }
+
+    /**
+     * The appends of one account after a checkpoint, folded into their sum.
+     */
+    public record TailEntry(long accountId, BigDecimal delta, long appended, long lastLogSeq) {
+    }
+
+    /**
+     * The {@code log_seq} of the last append included in {@code account.balance}.
+     */
+    public long loadCheckpointPosition() {
+        return namedJdbcTemplate.queryForObject(CHECKPOINT_POSITION_SQL, Map.of(), Long.class);
+    }
+
+    /**
+     * Folds every append after {@code position} into one entry per account, in account id order.
+     */
+    public List<TailEntry> replayTail(long position) {
+        return namedJdbcTemplate.query(TAIL_SQL, new MapSqlParameterSource("position", position),
+                (rs, rowNum) -> new TailEntry(rs.getLong("account_id"), rs.getBigDecimal("delta"),
+                        rs.getLong("appended"), rs.getLong("last_seq")));
+    }
+
+    /**
+     * Balances as of the last checkpoint of the given accounts; accounts that do not exist are absent.
+     */
+    public Map<Long, BigDecimal> accountBalances(Collection<Long> accountIds) {
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        namedJdbcTemplate.query(ACCOUNT_BALANCES_SQL, new MapSqlParameterSource("ids", accountIds),
+                rs -> { balances.put(rs.getLong("id"), rs.getBigDecimal("balance")); });
+        return balances;
+    }
+
+    /**
+     * Adds the tail to {@code account.balance} and moves the checkpoint past it, so that the other
+     * ledger modes, which read and update the column directly, can take over from an event-sourced run
+     * that ended without a final checkpoint.
+     *
+     * @return the number of appends folded in.
+     */
+    public long foldTail() {
+        long position = namedJdbcTemplate.queryForObject(LOCK_CHECKPOINT_SQL, Map.of(), Long.class);
+        List<TailEntry> tail = replayTail(position);
+        if (tail.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        long appended = 0;
+        long lastLogSeq = position;
+        List<SqlParameterSource> deltas = new ArrayList<>(tail.size());
+        for (TailEntry entry : tail) {
+            deltas.add(new MapSqlParameterSource()
+                    .addValue("accountId", entry.accountId())
+                    .addValue("delta", entry.delta())
+                    .addValue("now", now));
+            appended += entry.appended();
+            lastLogSeq = Math.max(lastLogSeq, entry.lastLogSeq());
+        }
+        namedJdbcTemplate.batchUpdate(ACCOUNT_DELTA_SQL, deltas.toArray(SqlParameterSource[]::new));
+        namedJdbcTemplate.update(MOVE_POSITION_SQL,
+                new MapSqlParameterSource().addValue("position", lastLogSeq).addValue("now", now));
+        return appended;
+    }
+
+    /**
+     * Inserts the approved transactions, numbered {@code firstLogSeq} onwards, and returns their ids in
+     * order. Ids come from the pooled sequence, so the inserts go out as JDBC batches. Only transactions
+     * dated before today can fall on a day that already has balance snapshots; those snapshots are moved
+     * along with them.
+     * <p>
+     * The account rows are not updated here, but they are locked first: the snapshot compactor locks
+     * them too, so a compaction of the same accounts either commits before this append and has its
+     * snapshots moved, or waits for it and includes its transactions.
+     */
+    public long[] append(List<PendingTransaction> approved, long firstLogSeq) {
+        Set<Long> accountIds = new TreeSet<>();
+        for (PendingTransaction pending : approved) {
+            accountIds.add(pending.accountId());
+        }
+        namedJdbcTemplate.queryForList(LOCK_ACCOUNTS_SQL, new MapSqlParameterSource("ids", accountIds), Long.class);
+
+        List<Transaction> transactions = new ArrayList<>(approved.size());
+        List<SqlParameterSource> snapshotDeltas = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (PendingTransaction pending : approved) {
+            Transaction transaction = new Transaction();
+            transaction.setAccount(accountRepository.getReferenceById(pending.accountId()));
+            transaction.setOperationTypeId(pending.operationTypeId());
+            transaction.setAmount(pending.signedAmount().toBigDecimal());
+            transaction.setEventDate(pending.eventDate());
+            transaction.setIdempotencyKey(pending.idempotencyKey());
+            transaction.setLogSeq(firstLogSeq + transactions.size());
+            transactions.add(transaction);
+            LocalDate day = pending.eventDate().toLocalDate();
+            if (day.isBefore(today)) {
+                snapshotDeltas.add(new MapSqlParameterSource()
+                        .addValue("accountId", pending.accountId())
+                        .addValue("day", day)
+                        .addValue("delta", transaction.getAmount()));
+            }
+        }
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+        if (!snapshotDeltas.isEmpty()) {
+            namedJdbcTemplate.batchUpdate(BalanceSnapshotRepository.APPLY_DELTA_SQL,
+                    snapshotDeltas.toArray(SqlParameterSource[]::new));
+        }
+        long[] ids = new long[saved.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = saved.get(i).getId();
+        }
+        return ids;
+    }
+
+    /**
+     * Stores the balances of the accounts changed since the previous checkpoint in {@code account.balance}
+     * and moves the checkpoint to {@code position}, in statement batches of {@code chunkSize}. Account
+     * rows are updated in id order, the order appends and the compactor lock them in.
+     */
+    public void saveCheckpoint(long position, Map<Long, BigDecimal> changedBalances, int chunkSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<SqlParameterSource> chunk = new ArrayList<>(Math.min(chunkSize, changedBalances.size()));
+        for (Map.Entry<Long, BigDecimal> entry : new TreeMap<>(changedBalances).entrySet()) {
+            chunk.add(new MapSqlParameterSource()
+                    .addValue("accountId", entry.getKey())
+                    .addValue("balance", entry.getValue())
+                    .addValue("now", now));
+            if (chunk.size() == chunkSize) {
+                writeBalances(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeBalances(chunk);
+        }
+        namedJdbcTemplate.update(MOVE_POSITION_SQL,
+                new MapSqlParameterSource().addValue("position", position).addValue("now", now));
+    }
+
+    private void writeBalances(List<SqlParameterSource> chunk) {
+        namedJdbcTemplate.batchUpdate(ACCOUNT_BALANCE_SQL, chunk.toArray(SqlParameterSource[]::new));
+    }
+}
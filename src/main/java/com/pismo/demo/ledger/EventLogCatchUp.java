@@ -0,0 +1,32 @@
+package com.pismo.demo.ledger;
+
+import com.pismo.demo.config.LedgerMode;
+import com.pismo.demo.config.LedgerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Brings {@code account.balance} up to date on startup in every ledger mode but event-sourced.
+ * <p>
+ * The event-sourced ledger only writes the column at checkpoints; after a run that ended without a
+ * final one (a crash, a kill), the column trails the log. The other modes read and update it
+ * directly, so the appends after the checkpoint are folded in before they take over. A no-op when
+ * the event-sourced ledger was never used or shut down cleanly.
+ */
+@Component
+public class EventLogCatchUp {
+
+    private static final Logger log = LoggerFactory.getLogger(EventLogCatchUp.class);
+
+    public EventLogCatchUp(EventLog eventLog, TransactionTemplate transactionTemplate, LedgerProperties properties) {
+        if (properties.getMode() == LedgerMode.EVENT_SOURCED) {
+            return;
+        }
+        Long folded = transactionTemplate.execute(status -> eventLog.foldTail());
+        if (folded != null && folded > 0) {
+            log.info("Folded {} event-sourced transactions after the last checkpoint into account balances", folded);
+        }
+    }
+}
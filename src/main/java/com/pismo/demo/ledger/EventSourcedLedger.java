@@ -0,0 +1,371 @@
+package com.pismo.demo.ledger;
+
+import com.pismo.demo.config.LedgerProperties;
+import com.pismo.demo.dto.TransactionResponseDTO;
+import com.pismo.demo.entity.Account;
+import com.pismo.demo.money.Money;
+import com.pismo.demo.service.TransactionDecline;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ledger of {@code ledger.mode=event-sourced}: the transaction table is an append-only log and the
+ * only record of balances.
+ * <p>
+ * A single writer thread owns every account balance, held in memory as minor units. It takes
+ * micro-batches of pending transactions, checks limits against those balances and appends the approved
+ * rows with one JDBC batch and one commit; account rows are only locked, against snapshot compaction.
+ * Callers are completed once the batch has committed, and only then do the in-memory balances move,
+ * so a failed append leaves them as they were.
+ * <p>
+ * The changed balances are checkpointed into {@code account.balance} together with the {@code log_seq}
+ * of the last append they include, every {@code checkpoint-interval} or after {@code checkpoint-every}
+ * appends, off the writer thread. On startup the ledger replays only the appends after the checkpoint
+ * onto those balances, so recovery time is bounded by the checkpoint frequency rather than the size of
+ * the log; other accounts are loaded from {@code account.balance} when first used. Between checkpoints
+ * {@code account.balance} trails the log: balance reads and exports are computed from the transactions
+ * and stay current, and starting in another ledger mode folds the tail into the column first.
+ * <p>
+ * Appends are numbered by the one writer thread, so the ledger must be the only instance writing to
+ * the database. A second one fails its appends on the unique {@code log_seq} instead of interleaving
+ * with the first; with the file-based H2 of the prod profile it cannot open the database at all.
+ */
+@Lazy
+@Component
+public class EventSourcedLedger implements MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EventSourcedLedger.class);
+
+    private final EventLog eventLog;
+    private final TransactionTemplate transactionTemplate;
+    private final Currency currency;
+    private final long creditLimit;
+    private final Duration timeout;
+    private final int checkpointEvery;
+    private final int checkpointChunkSize;
+    // Guarded by writerLock; concurrent only so that the gauges can read the size.
+    private final Map<Long, Balance> balances = new ConcurrentHashMap<>();
+    private final Set<Long> changedSinceCheckpoint = new HashSet<>();
+    // Not synchronized: with virtual threads a monitor held across JDBC calls would pin the carrier.
+    private final ReentrantLock writerLock = new ReentrantLock();
+    private final MicroBatcher<PendingTransaction> batcher;
+    private final ScheduledExecutorService checkpointer;
+    private long position;
+    private long checkpointedPosition;
+    private volatile long appendedSinceCheckpoint;
+    private boolean checkpointRequested;
+
+    public EventSourcedLedger(EventLog eventLog, TransactionTemplate transactionTemplate, LedgerProperties properties) {
+        LedgerProperties.EventSourced eventSourced = properties.getEventSourced();
+        this.eventLog = eventLog;
+        this.transactionTemplate = transactionTemplate;
+        this.currency = properties.getCurrency();
+        this.creditLimit = Money.of(Account.CREDIT_LIMIT, currency).minorUnits();
+        this.timeout = eventSourced.getTimeout();
+        this.checkpointEvery = eventSourced.getCheckpointEvery();
+        this.checkpointChunkSize = eventSourced.getCheckpointChunkSize();
+
+        recover();
+
+        this.batcher = new MicroBatcher<>("ledger-event-writer", eventSourced.getQueueCapacity(),
+                eventSourced.getMaxBatchSize(), eventSourced.getMaxWait(), this::process);
+        this.checkpointer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-checkpointer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = eventSourced.getCheckpointInterval().toMillis();
+        checkpointer.scheduleWithFixedDelay(this::checkpointScheduled, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private static final class Balance {
+        long minorUnits;
+    }
+
+    /**
+     * Rebuilds the balances of the accounts appended to since the last checkpoint.
+     */
+    private void recover() {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            long checkpoint = eventLog.loadCheckpointPosition();
+            position = checkpoint;
+            checkpointedPosition = checkpoint;
+
+            List<EventLog.TailEntry> tail = eventLog.replayTail(checkpoint);
+            List<Long> accountIds = new ArrayList<>(tail.size());
+            tail.forEach(entry -> accountIds.add(entry.accountId()));
+            Map<Long, BigDecimal> checkpointed = accountIds.isEmpty() ? Map.of() : eventLog.accountBalances(accountIds);
+            long replayed = 0;
+            for (EventLog.TailEntry entry : tail) {
+                BigDecimal balance = checkpointed.getOrDefault(entry.accountId(), BigDecimal.ZERO).add(entry.delta());
+                balance(entry.accountId()).minorUnits = Money.of(balance, currency).minorUnits();
+                changedSinceCheckpoint.add(entry.accountId());
+                position = Math.max(position, entry.lastLogSeq());
+                replayed += entry.appended();
+            }
+            appendedSinceCheckpoint = replayed;
+            log.info("Recovered {} account balances from the checkpoint at log position {} and {} transactions after it in {} ms",
+                    balances.size(), checkpoint, replayed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Queues the transaction and blocks until it has been appended, declined or rejected.
+     *
+     * @throws com.pismo.demo.exception.TransactionDeclinedException if the debit would exceed the limit.
+     * @throws EntityNotFoundException                              if the account does not exist.
+     */
+    public TransactionResponseDTO append(PendingTransaction pending) {
+        batcher.submit(pending);
+        return Futures.await(pending.result(), timeout);
+    }
+
+    /**
+     * Queues all transactions and waits until each has been appended or failed; outcomes are left on the
+     * items' futures. Items the queue cannot take are failed at once.
+     */
+    public void appendAll(List<PendingTransaction> pending) {
+        for (PendingTransaction item : pending) {
+            try {
+                batcher.submit(item);
+            } catch (RejectedExecutionException e) {
+                item.result().completeExceptionally(e);
+            }
+        }
+        for (PendingTransaction item : pending) {
+            try {
+                Futures.await(item.result(), timeout);
+            } catch (RuntimeException e) {
+                // Reported through the item's future.
+            }
+        }
+    }
+
+    /**
+     * Writer thread: applies one micro-batch. Items repeating an idempotency key already present in the
+     * batch share the first item's result; items whose caller already gave up are skipped. If the batch
+     * fails as a whole (for example a key committed concurrently by another request), its items are
+     * applied one per transaction.
+     */
+    void process(List<PendingTransaction> batch) {
+        writerLock.lock();
+        try {
+            List<PendingTransaction> unique = new ArrayList<>(batch.size());
+            Map<String, PendingTransaction> firstByKey = new HashMap<>();
+            for (PendingTransaction pending : batch) {
+                if (pending.result().isCancelled()) {
+                    continue;
+                }
+                PendingTransaction first = firstByKey.putIfAbsent(pending.idempotencyKey(), pending);
+                if (first == null) {
+                    unique.add(pending);
+                } else {
+                    first.result().whenComplete((response, failure) -> complete(pending, response, failure));
+                }
+            }
+            try {
+                Append append = transactionTemplate.execute(status -> apply(unique));
+                append.publish();
+            } catch (RuntimeException e) {
+                if (unique.size() == 1) {
+                    unique.get(0).result().completeExceptionally(e);
+                    return;
+                }
+                log.warn("Append of {} transactions failed ({}), applying them one by one", unique.size(), e.getMessage());
+                for (PendingTransaction pending : unique) {
+                    process(List.of(pending));
+                }
+            }
+            if (appendedSinceCheckpoint >= checkpointEvery && !checkpointRequested) {
+                checkpointRequested = true;
+                checkpointer.execute(this::checkpointScheduled);
+            }
+        } finally {
+            writerLock.unlock();
+        }
+    }
+
+    private Append apply(List<PendingTransaction> items) {
+        loadNewAccounts(items);
+        Map<Long, Long> newBalances = new HashMap<>();
+        List<PendingTransaction> approved = new ArrayList<>(items.size());
+        List<Runnable> failures = new ArrayList<>();
+        for (PendingTransaction pending : items) {
+            Balance balance = balances.get(pending.accountId());
+            if (balance == null) {
+                failures.add(() -> pending.result().completeExceptionally(new EntityNotFoundException("Account not found")));
+                continue;
+            }
+            long current = newBalances.getOrDefault(pending.accountId(), balance.minorUnits);
+            long updated = current + pending.signedAmount().minorUnits();
+            if (pending.isDebit() && updated + creditLimit < 0) {
+                failures.add(() -> pending.result().completeExceptionally(TransactionDecline.LIMIT_EXCEEDED.exception()));
+                continue;
+            }
+            newBalances.put(pending.accountId(), updated);
+            approved.add(pending);
+        }
+        long[] ids = approved.isEmpty() ? new long[0] : eventLog.append(approved, position + 1);
+        return new Append(approved, ids, newBalances, failures);
+    }
+
+    /**
+     * Accounts without appends since the last checkpoint join with their checkpointed balance.
+     */
+    private void loadNewAccounts(List<PendingTransaction> items) {
+        Set<Long> unknown = new HashSet<>();
+        for (PendingTransaction pending : items) {
+            if (!balances.containsKey(pending.accountId())) {
+                unknown.add(pending.accountId());
+            }
+        }
+        if (!unknown.isEmpty()) {
+            eventLog.accountBalances(unknown).forEach((accountId, balance) ->
+                    balance(accountId).minorUnits = Money.of(balance, currency).minorUnits());
+        }
+    }
+
+    private Balance balance(long accountId) {
+        return balances.computeIfAbsent(accountId, id -> new Balance());
+    }
+
+    /**
+     * The outcome of a committed append, published to the in-memory balances and the callers.
+     */
+    private final class Append {
+
+        private final List<PendingTransaction> approved;
+        private final long[] ids;
+        private final Map<Long, Long> newBalances;
+        private final List<Runnable> failures;
+
+        Append(List<PendingTransaction> approved, long[] ids, Map<Long, Long> newBalances, List<Runnable> failures) {
+            this.approved = approved;
+            this.ids = ids;
+            this.newBalances = newBalances;
+            this.failures = failures;
+        }
+
+        void publish() {
+            newBalances.forEach((accountId, minorUnits) -> balances.get(accountId).minorUnits = minorUnits);
+            changedSinceCheckpoint.addAll(newBalances.keySet());
+            position += ids.length;
+            appendedSinceCheckpoint += ids.length;
+            for (int i = 0; i < approved.size(); i++) {
+                PendingTransaction pending = approved.get(i);
+                pending.result().complete(new TransactionResponseDTO(ids[i], pending.accountId(),
+                        pending.operationTypeId(), pending.signedAmount().toBigDecimal(), pending.eventDate()));
+            }
+            failures.forEach(Runnable::run);
+        }
+    }
+
+    private void checkpointScheduled() {
+        try {
+            checkpoint();
+        } catch (RuntimeException e) {
+            log.error("FAILED to checkpoint ledger balances :: error {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stores the balances changed since the previous checkpoint and the log position they are valid at.
+     * They are copied under the writer lock and written without it, so appends continue meanwhile;
+     * if the write fails the accounts stay marked as changed for the next checkpoint.
+     */
+    public void checkpoint() {
+        Map<Long, BigDecimal> changed;
+        long checkpointPosition;
+        long appended;
+        writerLock.lock();
+        try {
+            checkpointRequested = false;
+            if (changedSinceCheckpoint.isEmpty() && position == checkpointedPosition) {
+                return;
+            }
+            changed = new HashMap<>(changedSinceCheckpoint.size() * 2);
+            for (Long accountId : changedSinceCheckpoint) {
+                changed.put(accountId, Money.ofMinor(balances.get(accountId).minorUnits, currency).toBigDecimal());
+            }
+            checkpointPosition = position;
+            appended = appendedSinceCheckpoint;
+            changedSinceCheckpoint.clear();
+            appendedSinceCheckpoint = 0;
+        } finally {
+            writerLock.unlock();
+        }
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    eventLog.saveCheckpoint(checkpointPosition, changed, checkpointChunkSize));
+        } catch (RuntimeException e) {
+            writerLock.lock();
+            try {
+                changedSinceCheckpoint.addAll(changed.keySet());
+                appendedSinceCheckpoint += appended;
+            } finally {
+                writerLock.unlock();
+            }
+            throw e;
+        }
+        writerLock.lock();
+        try {
+            checkpointedPosition = Math.max(checkpointedPosition, checkpointPosition);
+        } finally {
+            writerLock.unlock();
+        }
+        log.debug("Checkpointed {} account balances at log position {} in {} ms", changed.size(), checkpointPosition,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("ledger.event.accounts", balances, Map::size)
+                .description("Account balances held in memory by the event-sourced ledger")
+                .register(registry);
+        Gauge.builder("ledger.event.uncheckpointed", this, ledger -> ledger.appendedSinceCheckpoint)
+                .description("Transactions appended since the last checkpoint; replayed on restart")
+                .register(registry);
+        Gauge.builder("ledger.event.queue", batcher, MicroBatcher::getQueueSize)
+                .description("Transactions waiting for the event-sourced ledger writer")
+                .register(registry);
+    }
+
+    /**
+     * Appends what is already queued, then takes a final checkpoint so the next start replays nothing.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        batcher.close();
+        checkpointer.shutdown();
+        checkpointer.awaitTermination(30, TimeUnit.SECONDS);
+        checkpointScheduled();
+    }
+
+    private static void complete(PendingTransaction pending, TransactionResponseDTO response, Throwable failure) {
+        if (failure != null) {
+            pending.result().completeExceptionally(failure);
+        } else {
+            pending.result().complete(response);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.pismo.demo.ledger;
+
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Waits for ledger work handed to another thread and rethrows its failure as-is.
+ */
+public final class Futures {
+
+    private Futures() {
+    }
+
+    public static <T> T await(Future<T> future) {
+        return await(future, null);
+    }
+
+    /**
+     * Waits up to {@code timeout} (forever if {@code null}) and returns the result. A runtime
+     * exception raised by the work is rethrown unchanged so callers see the same exception
+     * types as if the work had run inline. A caller that times out or is interrupted cancels the
+     * future, so work that has not started yet is dropped instead of committing after the caller
+     * has already failed.
+     */
+    public static <T> T await(Future<T> future, Duration timeout) {
+        try {
+            return timeout == null ? future.get() : future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new QueryTimeoutException("Ledger write did not complete within " + timeout, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new IllegalStateException("Interrupted while waiting for ledger work", e);
+        }
+    }
+}
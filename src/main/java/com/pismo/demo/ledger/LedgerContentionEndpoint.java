@@ -0,0 +1,34 @@
+package com.pismo.demo.ledger;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Exposes optimistic-locking contention at {@code /actuator/ledgercontention}.
+ */
+@Component
+@Endpoint(id = "ledgercontention")
+public class LedgerContentionEndpoint {
+
+    private static final int HOTTEST_ACCOUNTS = 20;
+
+    private final ContentionMetrics contentionMetrics;
+
+    public LedgerContentionEndpoint(ContentionMetrics contentionMetrics) {
+        this.contentionMetrics = contentionMetrics;
+    }
+
+    @ReadOperation
+    public Map<String, Object> contention() {
+        return contentionMetrics.summary(HOTTEST_ACCOUNTS);
+    }
+
+    @ReadOperation
+    public ContentionMetrics.AccountSnapshot account(@Selector Long accountId) {
+        return contentionMetrics.getAccount(accountId);
+    }
+}
@@ -0,0 +1,15 @@
+package com.pismo.demo.ledger;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of balance-mutating work on behalf of an account.
+ */
+public interface LedgerExecutor {
+
+    /**
+     * Executes {@code work} for the given account and returns its result, rethrowing any
+     * runtime exception it raised.
+     */
+    <T> T execute(long accountId, Supplier<T> work);
+}
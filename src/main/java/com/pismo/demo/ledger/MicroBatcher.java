@@ -0,0 +1,122 @@
+package com.pismo.demo.ledger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Collects items submitted by many threads and hands them to a handler in batches on a single
+ * worker thread.
+ * <p>
+ * A batch is closed when it reaches {@code maxBatchSize} items or when {@code maxWait} has elapsed
+ * since its first item arrived, whichever comes first. Under light load a batch therefore
+ * holds a single item and adds at most {@code maxWait} of latency; under heavy load batches fill
+ * up immediately. Submissions beyond the queue capacity are rejected instead of blocking.
+ */
+public class MicroBatcher<T> implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MicroBatcher.class);
+
+    private final String name;
+    private final BlockingQueue<T> queue;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final Consumer<List<T>> handler;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public MicroBatcher(String name, int queueCapacity, int maxBatchSize, Duration maxWait, Consumer<List<T>> handler) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.handler = handler;
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public void submit(T item) {
+        if (!running) {
+            throw new RejectedExecutionException(name + " is shut down");
+        }
+        if (!queue.offer(item)) {
+            throw new RejectedExecutionException(name + " queue is full");
+        }
+        // close() may have run between the check above and the offer, and the worker may already have
+        // drained the queue and exited. Whoever takes the item out of the queue owns it: if it is still
+        // there it is rejected here, otherwise the worker has it and will hand it over.
+        if (!running && queue.remove(item)) {
+            throw new RejectedExecutionException(name + " is shut down");
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            List<T> batch;
+            try {
+                batch = nextBatch();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                handler.accept(batch);
+            } catch (RuntimeException e) {
+                log.error("{} failed to handle a batch of {} items", name, batch.size(), e);
+            }
+        }
+    }
+
+    private List<T> nextBatch() throws InterruptedException {
+        T first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return List.of();
+        }
+        List<T> batch = new ArrayList<>(Math.min(maxBatchSize, 64));
+        batch.add(first);
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < maxBatchSize) {
+            if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            T next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    /**
+     * Stops accepting items, lets the worker flush what is already queued and waits for it.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(30));
+    }
+}
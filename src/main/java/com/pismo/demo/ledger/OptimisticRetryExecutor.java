@@ -0,0 +1,77 @@
+package com.pismo.demo.ledger;
+
+import com.pismo.demo.config.BalanceUpdateStrategy;
+import com.pismo.demo.config.LedgerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a versioned balance update when it loses an optimistic-locking race.
+ * <p>
+ * Each attempt must be a complete database transaction so the retry re-reads the current
+ * balance and version. Between attempts the caller backs off for a random delay bounded by
+ * an exponentially growing ceiling, which spreads out competing writers on a hot account.
+ * The backoff sleeps on the calling thread, so this must wrap a {@link LedgerExecutor} rather than
+ * run inside one: a sleep on a shard thread would hold up every account of that shard.
+ * Successful attempts only feed the attempts histogram under the optimistic strategy; an atomic
+ * update cannot lose a version race, so counting its single attempts would only hide real contention.
+ */
+@Component
+public class OptimisticRetryExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticRetryExecutor.class);
+
+    private final ContentionMetrics contentionMetrics;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final boolean recordAttempts;
+
+    public OptimisticRetryExecutor(LedgerProperties properties, ContentionMetrics contentionMetrics) {
+        LedgerProperties.Optimistic optimistic = properties.getOptimistic();
+        this.contentionMetrics = contentionMetrics;
+        this.maxAttempts = Math.max(1, optimistic.getMaxAttempts());
+        this.initialBackoffNanos = optimistic.getInitialBackoff().toNanos();
+        this.maxBackoffNanos = optimistic.getMaxBackoff().toNanos();
+        this.recordAttempts = properties.getBalanceUpdate() == BalanceUpdateStrategy.OPTIMISTIC;
+    }
+
+    public <T> T execute(long accountId, Supplier<T> attempt) {
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                T result = attempt.get();
+                if (recordAttempts) {
+                    contentionMetrics.recordSuccess(attemptNumber);
+                }
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                if (attemptNumber >= maxAttempts) {
+                    contentionMetrics.recordConflict(accountId);
+                    log.warn("Version conflict on account {} persisted after {} attempts", accountId, attemptNumber);
+                    throw e;
+                }
+                contentionMetrics.recordRetry(accountId);
+                backoff(attemptNumber, e);
+            }
+        }
+    }
+
+    private void backoff(int attemptNumber, OptimisticLockingFailureException cause) {
+        long ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attemptNumber - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(delay / 1_000_000, (int) (delay % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.pismo.demo.ledger;
+
+import com.pismo.demo.dto.TransactionResponseDTO;
+import com.pismo.demo.money.Money;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A validated transaction waiting to be applied by a batch, together with the future its
+ * caller waits on. The future completes once the batch holding it has committed.
+ *
+ * @param amount the unsigned amount as requested; {@code signMultiplier} gives its direction.
+ */
+public record PendingTransaction(
+        long accountId,
+        int operationTypeId,
+        int signMultiplier,
+        Money amount,
+        String idempotencyKey,
+        LocalDateTime eventDate,
+        CompletableFuture<TransactionResponseDTO> result
+) {
+
+    public PendingTransaction(long accountId, int operationTypeId, int signMultiplier,
+                              Money amount, String idempotencyKey) {
+        this(accountId, operationTypeId, signMultiplier, amount, idempotencyKey,
+                LocalDateTime.now(), new CompletableFuture<>());
+    }
+
+    /**
+     * The amount as stored on the transaction row: negative for debits, positive for credits.
+     */
+    public Money signedAmount() {
+        Money absolute = amount.abs();
+        return isDebit() ? absolute.negate() : absolute;
+    }
+
+    public boolean isDebit() {
+        return signMultiplier < 0;
+    }
+}
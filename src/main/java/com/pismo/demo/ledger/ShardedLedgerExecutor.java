@@ -0,0 +1,71 @@
+package com.pismo.demo.ledger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Partitions accounts across a fixed number of single-threaded shards.
+ * <p>
+ * Every account is owned by exactly one shard, so all work submitted for that account
+ * executes sequentially on the shard's thread in submission order. Mutations on the same
+ * account therefore never race inside this instance and need no locks, while different
+ * accounts proceed in parallel on the other shards. A caller waits at most {@code timeout} for its
+ * work, so a stuck shard (a slow database or a lock wait) fails its callers instead of blocking them.
+ */
+public class ShardedLedgerExecutor implements LedgerExecutor, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedLedgerExecutor.class);
+
+    private final ThreadPoolExecutor[] shards;
+    private final Duration timeout;
+
+    public ShardedLedgerExecutor(int shardCount, int queueCapacity, Duration timeout) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1");
+        }
+        this.shards = new ThreadPoolExecutor[shardCount];
+        this.timeout = timeout;
+        for (int i = 0; i < shardCount; i++) {
+            String threadName = "ledger-shard-" + i;
+            shards[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> new Thread(runnable, threadName));
+        }
+        log.info("Sharded ledger started with {} shards", shardCount);
+    }
+
+    @Override
+    public <T> T execute(long accountId, Supplier<T> work) {
+        return Futures.await(shards[shardFor(accountId)].submit(work::get), timeout);
+    }
+
+    /**
+     * Returns the index of the shard owning the account.
+     */
+    public int shardFor(long accountId) {
+        long mixed = accountId * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(mixed ^ (mixed >>> 32), (long) shards.length);
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (ThreadPoolExecutor shard : shards) {
+            shard.shutdown();
+        }
+        for (ThreadPoolExecutor shard : shards) {
+            shard.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.pismo.demo.ledger;
+
+import com.pismo.demo.dto.TransactionResponseDTO;
+import com.pismo.demo.entity.Account;
+import com.pismo.demo.entity.Transaction;
+import com.pismo.demo.repository.AccountRepository;
+import com.pismo.demo.repository.BalanceSnapshotRepository;
+import com.pismo.demo.repository.TransactionRepository;
+import com.pismo.demo.service.TransactionDecline;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.IncorrectUpdateSemanticsDataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Applies a batch of pending transactions in one database transaction.
+ * <p>
+ * The balance changes go out as a single JDBC batch of conditional updates. The per-statement
+ * update counts decide which items were approved, and the approved rows are then inserted as
+ * batched statements. Callers are only completed after the commit, so an approved response is
+ * always durable. If the batch as a whole fails (for example a concurrent request committed the
+ * same idempotency key first), the items are re-applied one per transaction so a single bad item
+ * cannot fail its neighbours.
+ */
+@Component
+public class TransactionBatchProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionBatchProcessor.class);
+
+    private static final String EXISTING_ACCOUNTS_SQL = "SELECT id FROM account WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionBatchProcessor(NamedParameterJdbcTemplate namedJdbcTemplate,
+                                     TransactionRepository transactionRepository,
+                                     AccountRepository accountRepository,
+                                     TransactionTemplate transactionTemplate) {
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Applies the batch and completes every item's future, successfully or exceptionally.
+     * Items repeating an idempotency key already present in the batch share the first item's result.
+     * Items whose caller already gave up (the future was cancelled) are skipped.
+     */
+    public void process(List<PendingTransaction> batch) {
+        List<PendingTransaction> unique = new ArrayList<>(batch.size());
+        Map<String, PendingTransaction> firstByKey = new HashMap<>();
+        for (PendingTransaction pending : batch) {
+            if (pending.result().isCancelled()) {
+                continue;
+            }
+            PendingTransaction first = firstByKey.putIfAbsent(pending.idempotencyKey(), pending);
+            if (first == null) {
+                unique.add(pending);
+            } else {
+                first.result().whenComplete((response, failure) -> complete(pending, response, failure));
+            }
+        }
+        // Stable sort: keeps per-account order and touches account rows in a consistent order.
+        unique.sort(Comparator.comparingLong(PendingTransaction::accountId));
+        try {
+            List<Runnable> completions = transactionTemplate.execute(status -> apply(unique));
+            completions.forEach(Runnable::run);
+        } catch (RuntimeException e) {
+            if (unique.size() == 1) {
+                unique.get(0).result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Batch of {} transactions failed ({}), applying them one by one", unique.size(), e.getMessage());
+            for (PendingTransaction pending : unique) {
+                process(List.of(pending));
+            }
+        }
+    }
+
+    private List<Runnable> apply(List<PendingTransaction> items) {
+        SqlParameterSource[] deltas = new SqlParameterSource[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            PendingTransaction pending = items.get(i);
+            deltas[i] = new MapSqlParameterSource()
+                    .addValue("id", pending.accountId())
+                    .addValue("delta", pending.signedAmount().toBigDecimal())
+                    .addValue("limit", Account.CREDIT_LIMIT);
+        }
+        int[] updateCounts = namedJdbcTemplate.batchUpdate(AccountRepository.APPLY_DELTA_SQL, deltas);
+
+        List<PendingTransaction> approved = new ArrayList<>(items.size());
+        List<PendingTransaction> declined = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            switch (updateCounts[i]) {
+                case 1 -> approved.add(items.get(i));
+                case 0 -> declined.add(items.get(i));
+                default -> throw new IncorrectUpdateSemanticsDataAccessException(
+                        "Unexpected update count " + updateCounts[i] + " for account " + items.get(i).accountId());
+            }
+        }
+
+        long[] ids = insert(approved);
+        adjustSnapshots(approved);
+        List<Runnable> completions = new ArrayList<>(items.size());
+        for (int i = 0; i < approved.size(); i++) {
+            PendingTransaction pending = approved.get(i);
+            TransactionResponseDTO response = new TransactionResponseDTO(ids[i], pending.accountId(),
+                    pending.operationTypeId(), pending.signedAmount().toBigDecimal(), pending.eventDate());
+            completions.add(() -> pending.result().complete(response));
+        }
+        if (!declined.isEmpty()) {
+            Set<Long> existing = existingAccounts(declined);
+            for (PendingTransaction pending : declined) {
+                RuntimeException failure = existing.contains(pending.accountId())
+                        ? TransactionDecline.LIMIT_EXCEEDED.exception()
+                        : new EntityNotFoundException("Account not found");
+                completions.add(() -> pending.result().completeExceptionally(failure));
+            }
+        }
+        return completions;
+    }
+
+    /**
+     * Persists the approved rows. Ids come from the pooled sequence, so Hibernate groups the
+     * inserts into JDBC batches of {@code hibernate.jdbc.batch_size} when the batch commits.
+     */
+    private long[] insert(List<PendingTransaction> approved) {
+        List<Transaction> transactions = new ArrayList<>(approved.size());
+        for (PendingTransaction pending : approved) {
+            Transaction transaction = new Transaction();
+            transaction.setAccount(accountRepository.getReferenceById(pending.accountId()));
+            transaction.setOperationTypeId(pending.operationTypeId());
+            transaction.setAmount(pending.signedAmount().toBigDecimal());
+            transaction.setEventDate(pending.eventDate());
+            transaction.setIdempotencyKey(pending.idempotencyKey());
+            transactions.add(transaction);
+        }
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+        long[] ids = new long[saved.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = saved.get(i).getId();
+        }
+        return ids;
+    }
+
+    /**
+     * Moves the balance snapshots on or after each approved item's day, a no-op for items dated today.
+     */
+    private void adjustSnapshots(List<PendingTransaction> approved) {
+        if (approved.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] deltas = new SqlParameterSource[approved.size()];
+        for (int i = 0; i < deltas.length; i++) {
+            PendingTransaction pending = approved.get(i);
+            deltas[i] = new MapSqlParameterSource()
+                    .addValue("accountId", pending.accountId())
+                    .addValue("day", pending.eventDate().toLocalDate())
+                    .addValue("delta", pending.signedAmount().toBigDecimal());
+        }
+        namedJdbcTemplate.batchUpdate(BalanceSnapshotRepository.APPLY_DELTA_SQL, deltas);
+    }
+
+    private Set<Long> existingAccounts(List<PendingTransaction> declined) {
+        Set<Long> accountIds = new HashSet<>();
+        declined.forEach(pending -> accountIds.add(pending.accountId()));
+        return new HashSet<>(namedJdbcTemplate.queryForList(EXISTING_ACCOUNTS_SQL,
+                new MapSqlParameterSource("ids", accountIds), Long.class));
+    }
+
+    private static void complete(PendingTransaction pending, TransactionResponseDTO response, Throwable failure) {
+        if (failure != null) {
+            pending.result().completeExceptionally(failure);
+        } else {
+            pending.result().complete(response);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.pismo.demo.ledger;
+
+import com.pismo.demo.config.LedgerProperties;
+import com.pismo.demo.dto.TransactionResponseDTO;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Write-behind stage for {@code ledger.mode=write-behind}: requests from many threads are grouped
+ * into micro-batches that {@link TransactionBatchProcessor} writes with one JDBC batch and one commit.
+ * Created on first use, so the worker thread only exists when the mode is enabled.
+ */
+@Lazy
+@Component
+public class TransactionBatchWriter implements DisposableBean {
+
+    private final MicroBatcher<PendingTransaction> batcher;
+    private final Duration timeout;
+
+    public TransactionBatchWriter(LedgerProperties properties, TransactionBatchProcessor batchProcessor) {
+        LedgerProperties.WriteBehind writeBehind = properties.getWriteBehind();
+        this.batcher = new MicroBatcher<>("ledger-writer", writeBehind.getQueueCapacity(),
+                writeBehind.getMaxBatchSize(), writeBehind.getMaxWait(), batchProcessor::process);
+        this.timeout = writeBehind.getTimeout();
+    }
+
+    /**
+     * Queues the transaction and blocks until the batch containing it has committed.
+     */
+    public TransactionResponseDTO write(PendingTransaction pending) {
+        batcher.submit(pending);
+        return Futures.await(pending.result(), timeout);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        batcher.close();
+    }
+}
@@ -0,0 +1,34 @@
+package com.pismo.demo.metrics;
+
+import com.pismo.demo.exception.TransactionDeclinedException;
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * How a {@code createTransaction} call ended, published as the {@code outcome} tag of its stage timers.
+ */
+public enum TransactionOutcome {
+    CREATED("created"),
+    REPLAYED("replayed"),
+    DECLINED("declined"),
+    NOT_FOUND("not-found"),
+    ERROR("error");
+
+    private final String tag;
+
+    TransactionOutcome(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    public static TransactionOutcome of(Throwable failure) {
+        return switch (failure) {
+            case EntityNotFoundException e -> NOT_FOUND;
+            case IllegalArgumentException e -> DECLINED;
+            case TransactionDeclinedException e -> DECLINED;
+            default -> ERROR;
+        };
+    }
+}
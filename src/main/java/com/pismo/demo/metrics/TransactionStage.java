@@ -0,0 +1,31 @@
+package com.pismo.demo.metrics;
+
+/**
+ * Timed stages of {@code createTransaction}, published as the {@code stage} tag of
+ * {@code ledger.transaction.stage}.
+ * <p>
+ * Hibernate defers the transaction insert to the next flush, which the snapshot adjustment
+ * triggers. In atomic mode that flush is timed as {@link #INSERT}, and the account load and limit
+ * check are part of the single conditional UPDATE timed as {@link #ACCOUNT_UPDATE}. In optimistic
+ * mode the flush writes the insert together with the versioned account update and is timed as
+ * {@link #ACCOUNT_UPDATE}, the stage where version conflicts surface.
+ */
+public enum TransactionStage {
+    IDEMPOTENCY("idempotency"),
+    ACCOUNT_LOAD("account-load"),
+    OPERATION_TYPE("operation-type"),
+    LIMIT_CHECK("limit-check"),
+    ACCOUNT_UPDATE("account-update"),
+    INSERT("insert"),
+    COMMIT("commit");
+
+    private final String tag;
+
+    TransactionStage(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
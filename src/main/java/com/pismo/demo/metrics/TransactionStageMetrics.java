@@ -0,0 +1,128 @@
+package com.pismo.demo.metrics;
+
+import com.pismo.demo.operation.OperationTypeRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stage timers of {@code createTransaction}, published as {@code ledger.transaction.stage} tagged
+ * with {@code stage}, {@code operation_type} and {@code outcome}.
+ * <p>
+ * A request measures its stages into a {@link StageTimings} with plain {@link System#nanoTime()}
+ * laps and records them once its outcome is known. Timers are registered on first use and cached
+ * in arrays per operation type, so recording does no tag or map work on the hot path and only
+ * stage/outcome combinations that occur become series. Only ids known to the
+ * {@link OperationTypeRegistry} get their own {@code operation_type} tag; every other id, which comes
+ * straight from the request, shares the {@value #UNKNOWN_OPERATION_TYPE} series, so clients cannot grow
+ * the number of series. Percentile histograms
+ * are configured through the standard {@code management.metrics.distribution.*} properties.
+ */
+@Component
+public class TransactionStageMetrics implements MeterBinder {
+
+    public static final String METER_NAME = "ledger.transaction.stage";
+
+    static final String UNKNOWN_OPERATION_TYPE = "unknown";
+
+    // Key of the shared series in timersByOperationType; valid operation type ids are never negative.
+    private static final int UNKNOWN_KEY = -1;
+
+    private static final TransactionStage[] STAGES = TransactionStage.values();
+    private static final TransactionOutcome[] OUTCOMES = TransactionOutcome.values();
+
+    private final Map<Integer, Timer[][]> timersByOperationType = new ConcurrentHashMap<>();
+    private final OperationTypeRegistry operationTypeRegistry;
+    private volatile MeterRegistry registry;
+
+    public TransactionStageMetrics(OperationTypeRegistry operationTypeRegistry) {
+        this.operationTypeRegistry = operationTypeRegistry;
+    }
+
+    /**
+     * Starts timing a request; the first lap starts now.
+     */
+    public StageTimings start() {
+        return new StageTimings();
+    }
+
+    /**
+     * Records the stages a request went through. Before the registry is bound (or without one) this is a no-op.
+     */
+    public void record(StageTimings timings, Integer operationTypeId, TransactionOutcome outcome) {
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry == null) {
+            return;
+        }
+        int operationType = operationTypeId != null && operationTypeRegistry.get(operationTypeId) != null
+                ? operationTypeId : UNKNOWN_KEY;
+        Timer[] byStage = timersByOperationType
+                .computeIfAbsent(operationType, type -> new Timer[OUTCOMES.length][STAGES.length])[outcome.ordinal()];
+        for (TransactionStage stage : STAGES) {
+            long nanos = timings.nanos[stage.ordinal()];
+            if (nanos >= 0) {
+                Timer timer = byStage[stage.ordinal()];
+                if (timer == null) {
+                    // Registration is idempotent, so a racing thread registering the same timer is harmless.
+                    timer = register(meterRegistry, stage, operationType, outcome);
+                    byStage[stage.ordinal()] = timer;
+                }
+                timer.record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private static Timer register(MeterRegistry registry, TransactionStage stage, int operationType,
+                                  TransactionOutcome outcome) {
+        return Timer.builder(METER_NAME)
+                .description("Time spent in one stage of creating a transaction")
+                .tag("stage", stage.tag())
+                .tag("operation_type",
+                        operationType == UNKNOWN_KEY ? UNKNOWN_OPERATION_TYPE : String.valueOf(operationType))
+                .tag("outcome", outcome.tag())
+                .register(registry);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Per-request stage durations. Not thread-safe, but may be handed from thread to thread
+     * together with the request.
+     */
+    public static final class StageTimings {
+
+        private final long[] nanos = new long[STAGES.length];
+        private long lapStart = System.nanoTime();
+
+        private StageTimings() {
+            Arrays.fill(nanos, -1);
+        }
+
+        /**
+         * Starts the next lap now, discarding the time since the previous one.
+         */
+        public void restart() {
+            lapStart = System.nanoTime();
+        }
+
+        /**
+         * Adds the time since the previous lap to {@code stage} and starts the next lap.
+         * Stages repeated by a retry accumulate.
+         */
+        public void lap(TransactionStage stage) {
+            long now = System.nanoTime();
+            int index = stage.ordinal();
+            nanos[index] = Math.max(nanos[index], 0) + (now - lapStart);
+            lapStart = now;
+        }
+    }
+}
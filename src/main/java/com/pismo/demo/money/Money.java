@@ -0,0 +1,95 @@
+package com.pismo.demo.money;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * An amount of money held as a {@code long} count of minor units (e.g. cents) of its currency.
+ * <p>
+ * The scale is fixed by the currency's default fraction digits, so arithmetic and comparisons
+ * work on plain longs instead of {@link BigDecimal}s. All arithmetic is overflow-checked and
+ * throws {@link ArithmeticException} rather than wrapping around. Values are converted to and
+ * from {@code BigDecimal} only at the edges (database columns and JSON).
+ */
+public record Money(long minorUnits, Currency currency) implements Comparable<Money> {
+
+    public Money {
+        Objects.requireNonNull(currency, "currency");
+        if (currency.getDefaultFractionDigits() < 0) {
+            throw new IllegalArgumentException("Currency " + currency + " has no fixed minor unit");
+        }
+    }
+
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    public static Money zero(Currency currency) {
+        return new Money(0, currency);
+    }
+
+    /**
+     * Converts a decimal amount exactly.
+     *
+     * @throws IllegalArgumentException if the amount has more decimal places than the currency allows
+     * @throws ArithmeticException      if the amount does not fit in a {@code long} of minor units
+     */
+    public static Money of(BigDecimal amount, Currency currency) {
+        int scale = currency.getDefaultFractionDigits();
+        if (amount.scale() > scale && amount.stripTrailingZeros().scale() > scale) {
+            throw new IllegalArgumentException(
+                    "Amount must have at most " + scale + " decimal places for " + currency.getCurrencyCode());
+        }
+        return new Money(amount.movePointRight(scale).longValueExact(), currency);
+    }
+
+    public int scale() {
+        return currency.getDefaultFractionDigits();
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, sameCurrency(other).minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(minorUnits, sameCurrency(other).minorUnits), currency);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), currency);
+    }
+
+    public Money abs() {
+        return minorUnits < 0 ? negate() : this;
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public boolean isLessThan(Money other) {
+        return minorUnits < sameCurrency(other).minorUnits;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale());
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, sameCurrency(other).minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+
+    private Money sameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+        return other;
+    }
+}
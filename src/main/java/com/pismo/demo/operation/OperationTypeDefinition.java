@@ -0,0 +1,18 @@
+package com.pismo.demo.operation;
+
+import com.pismo.demo.entity.OperationType;
+
+/**
+ * Immutable, unboxed copy of an {@code operation_type} row.
+ */
+public record OperationTypeDefinition(int id, String description, int signMultiplier) {
+
+    static OperationTypeDefinition from(OperationType entity) {
+        return new OperationTypeDefinition(
+                Math.toIntExact(entity.getId()), entity.getDescription(), entity.getSignMultiplier());
+    }
+
+    public boolean isDebit() {
+        return signMultiplier < 0;
+    }
+}
@@ -0,0 +1,33 @@
+package com.pismo.demo.operation;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Lists the cached operation types at {@code /actuator/operationtypes}; a POST reloads them from the database.
+ */
+@Component
+@Endpoint(id = "operationtypes")
+public class OperationTypeEndpoint {
+
+    private final OperationTypeRegistry operationTypeRegistry;
+
+    public OperationTypeEndpoint(OperationTypeRegistry operationTypeRegistry) {
+        this.operationTypeRegistry = operationTypeRegistry;
+    }
+
+    @ReadOperation
+    public List<OperationTypeDefinition> operationTypes() {
+        return operationTypeRegistry.getAll();
+    }
+
+    @WriteOperation
+    public List<OperationTypeDefinition> refresh() {
+        operationTypeRegistry.refresh();
+        return operationTypeRegistry.getAll();
+    }
+}
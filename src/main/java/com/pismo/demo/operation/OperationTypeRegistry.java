@@ -0,0 +1,93 @@
+package com.pismo.demo.operation;
+
+import com.pismo.demo.repository.OperationTypeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory copy of the {@code operation_type} table, indexed by id.
+ * <p>
+ * The table holds a handful of static rows, so it is read once at startup instead of on every
+ * transaction. Lookups read immutable tables without locking; {@link #refresh()} builds new ones and
+ * swaps them in, so readers see either the old or the new set of types, never a mix. Ids below
+ * {@value #MAX_DENSE_ID} are served from an array indexed by id; any larger id goes to a map, so
+ * one large or sparse id does not size the array.
+ * Changes to the table are only picked up on refresh (see {@link OperationTypeEndpoint}).
+ */
+@Component
+public class OperationTypeRegistry implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(OperationTypeRegistry.class);
+
+    static final int MAX_DENSE_ID = 1024;
+
+    private final OperationTypeRepository operationTypeRepository;
+    private volatile Types types = new Types(new OperationTypeDefinition[0], Map.of(), List.of());
+
+    public OperationTypeRegistry(OperationTypeRepository operationTypeRepository) {
+        this.operationTypeRepository = operationTypeRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+    }
+
+    /**
+     * The loaded types: {@code dense} indexed by id below {@link #MAX_DENSE_ID}, {@code sparse} above it.
+     */
+    private record Types(OperationTypeDefinition[] dense, Map<Integer, OperationTypeDefinition> sparse,
+                         List<OperationTypeDefinition> all) {
+    }
+
+    /**
+     * Returns the operation type with the given id, or {@code null} if there is none.
+     */
+    public OperationTypeDefinition get(int id) {
+        Types current = types;
+        if (id >= 0 && id < current.dense().length) {
+            return current.dense()[id];
+        }
+        return id >= MAX_DENSE_ID ? current.sparse().get(id) : null;
+    }
+
+    public List<OperationTypeDefinition> getAll() {
+        return types.all();
+    }
+
+    /**
+     * Reloads all operation types from the database and returns how many were loaded.
+     */
+    public int refresh() {
+        List<OperationTypeDefinition> loaded = operationTypeRepository.findAll().stream()
+                .map(OperationTypeDefinition::from)
+                .toList();
+        int maxDenseId = loaded.stream().mapToInt(OperationTypeDefinition::id)
+                .filter(id -> id < MAX_DENSE_ID).max().orElse(-1);
+        OperationTypeDefinition[] dense = new OperationTypeDefinition[maxDenseId + 1];
+        Map<Integer, OperationTypeDefinition> sparse = new HashMap<>();
+        for (OperationTypeDefinition type : loaded) {
+            if (type.id() < 0) {
+                throw new IllegalStateException("Operation type ids must not be negative: " + type.id());
+            }
+            if (type.id() < MAX_DENSE_ID) {
+                dense[type.id()] = type;
+            } else {
+                sparse.put(type.id(), type);
+            }
+        }
+        List<OperationTypeDefinition> all = loaded.stream()
+                .sorted(Comparator.comparingInt(OperationTypeDefinition::id))
+                .toList();
+        types = new Types(dense, Map.copyOf(sparse), all);
+        log.info("Loaded {} operation types", loaded.size());
+        return loaded.size();
+    }
+}
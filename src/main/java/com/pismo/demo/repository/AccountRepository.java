@@ -1,10 +1,89 @@
 package com.pismo.demo.repository;
 
 
+import com.pismo.demo.dto.AccountResponseDTO;
 import com.pismo.demo.entity.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
+
+    String DEBIT_SQL = "UPDATE account SET balance = balance - :amount, version = version + 1, " +
+            "updated_on = CURRENT_TIMESTAMP WHERE id = :id AND balance + :limit >= :amount";
+
+    String CREDIT_SQL = "UPDATE account SET balance = balance + :amount, version = version + 1, " +
+            "updated_on = CURRENT_TIMESTAMP WHERE id = :id";
+
+    /**
+     * Minor-unit forms of {@link #DEBIT_SQL} and {@link #CREDIT_SQL}: the amount is bound as a long count of
+     * {@code :minorUnit}s (e.g. cents and 0.01), so no {@code BigDecimal} is created per request. Both
+     * parameters are cast: H2 would otherwise type {@code :minorUnit} after the BIGINT operand and truncate it.
+     */
+    String MINOR_UNITS_AMOUNT = "CAST(:units AS BIGINT) * CAST(:minorUnit AS NUMERIC(38, 18))";
+
+    String DEBIT_MINOR_UNITS_SQL = "UPDATE account SET balance = balance - " + MINOR_UNITS_AMOUNT + ", " +
+            "version = version + 1, updated_on = CURRENT_TIMESTAMP " +
+            "WHERE id = :id AND balance + :limit >= " + MINOR_UNITS_AMOUNT;
+
+    String CREDIT_MINOR_UNITS_SQL = "UPDATE account SET balance = balance + " + MINOR_UNITS_AMOUNT + ", " +
+            "version = version + 1, updated_on = CURRENT_TIMESTAMP WHERE id = :id";
+
+    /**
+     * Signed counterpart of {@link #DEBIT_SQL} and {@link #CREDIT_SQL} for JDBC batches, where every
+     * statement in the batch must share the same SQL: credits always apply, debits only within the limit.
+     */
+    String APPLY_DELTA_SQL = "UPDATE account SET balance = balance + :delta, version = version + 1, " +
+            "updated_on = CURRENT_TIMESTAMP WHERE id = :id AND (:delta >= 0 OR balance + :delta + :limit >= 0)";
+
+    /**
+     * Subtracts {@code amount} from the balance only if it stays within {@code limit} below zero.
+     *
+     * @return 1 if the debit was applied, 0 if the account does not exist or the limit would be exceeded.
+     */
+    @Modifying
+    @Query(value = DEBIT_SQL, nativeQuery = true)
+    int debit(@Param("id") Long id, @Param("amount") BigDecimal amount, @Param("limit") BigDecimal limit);
+
+    /**
+     * Adds {@code amount} to the balance.
+     *
+     * @return 1 if the credit was applied, 0 if the account does not exist.
+     */
+    @Modifying
+    @Query(value = CREDIT_SQL, nativeQuery = true)
+    int credit(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    /**
+     * {@link #debit} of {@code units} times {@code minorUnit}.
+     */
+    @Modifying
+    @Query(value = DEBIT_MINOR_UNITS_SQL, nativeQuery = true)
+    int debitMinorUnits(@Param("id") Long id, @Param("units") long units, @Param("minorUnit") BigDecimal minorUnit,
+                        @Param("limit") BigDecimal limit);
+
+    /**
+     * {@link #credit} of {@code units} times {@code minorUnit}.
+     */
+    @Modifying
+    @Query(value = CREDIT_MINOR_UNITS_SQL, nativeQuery = true)
+    int creditMinorUnits(@Param("id") Long id, @Param("units") long units, @Param("minorUnit") BigDecimal minorUnit);
+
+    /**
+     * Resolves a document number through the unique index on {@code document_number}.
+     */
+    @Query("select new com.pismo.demo.dto.AccountResponseDTO(a.id, a.documentNumber) from Account a " +
+            "where a.documentNumber = :documentNumber")
+    Optional<AccountResponseDTO> findResponseByDocumentNumber(@Param("documentNumber") String documentNumber);
+
+    @Query("select a.documentNumber from Account a where a.documentNumber in :documentNumbers")
+    List<String> findExistingDocumentNumbers(@Param("documentNumbers") Collection<String> documentNumbers);
 }
@@ -0,0 +1,43 @@
+package com.pismo.demo.repository;
+
+import com.pismo.demo.entity.BalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, BalanceSnapshot.Key> {
+
+    /**
+     * Moves every snapshot taken on or after {@code day} by {@code delta}. Shared with JDBC batches.
+     */
+    String APPLY_DELTA_SQL = "UPDATE balance_snapshot SET balance = balance + :delta " +
+            "WHERE account_id = :accountId AND snapshot_date >= :day";
+
+    /**
+     * Keeps the snapshots of {@code accountId} in step with a transaction dated {@code day}. Must run in
+     * the transaction that inserts it, after the account row was updated or locked: the account row lock
+     * is what orders this statement against a concurrent compaction of the same account.
+     *
+     * @return the number of snapshots changed; 0 unless the transaction is dated in the past.
+     */
+    @Modifying
+    @Query(value = APPLY_DELTA_SQL, nativeQuery = true)
+    int applyDelta(@Param("accountId") Long accountId, @Param("day") LocalDate day, @Param("delta") BigDecimal delta);
+
+    Optional<BalanceSnapshot> findFirstByAccountIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(Long accountId, LocalDate day);
+
+    @Query("select max(s.snapshotDate) from BalanceSnapshot s")
+    Optional<LocalDate> findLatestSnapshotDate();
+
+    @Query("select s.accountId from BalanceSnapshot s where s.snapshotDate = :day and s.accountId in :accountIds")
+    List<Long> findAccountIdsWithSnapshot(@Param("day") LocalDate day, @Param("accountIds") Collection<Long> accountIds);
+}
@@ -1,12 +1,97 @@
 package com.pismo.demo.repository;
 
+import com.pismo.demo.dto.TransactionResponseDTO;
 import com.pismo.demo.entity.Transaction;
+import com.pismo.demo.idempotency.StoredResponse;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     Optional<Transaction> findByIdempotencyKey(String idempotencyKey);
+
+    @Query("select new com.pismo.demo.dto.TransactionResponseDTO(t.id, t.account.id, t.operationTypeId, t.amount, t.eventDate) " +
+            "from Transaction t where t.idempotencyKey = :idempotencyKey")
+    Optional<TransactionResponseDTO> findResponseByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
+
+    @Query("select new com.pismo.demo.idempotency.StoredResponse(t.idempotencyKey, t.id, t.account.id, " +
+            "t.operationTypeId, t.amount, t.eventDate) from Transaction t where t.idempotencyKey in :idempotencyKeys")
+    List<StoredResponse> findResponsesByIdempotencyKeyIn(@Param("idempotencyKeys") Collection<String> idempotencyKeys);
+
+    /**
+     * One page of an account's history, newest first, seeking past the {@code (beforeDate, beforeId)}
+     * position of the previous page instead of skipping rows with OFFSET; served by the
+     * {@code (account_id, event_date, id)} index. {@code operationTypeId} is optional.
+     */
+    @Query("select new com.pismo.demo.dto.TransactionResponseDTO(t.id, t.account.id, t.operationTypeId, t.amount, t.eventDate) " +
+            "from Transaction t where t.account.id = :accountId " +
+            "and t.eventDate >= :from and t.eventDate < :to " +
+            "and (:operationTypeId is null or t.operationTypeId = :operationTypeId) " +
+            "and (t.eventDate < :beforeDate or (t.eventDate = :beforeDate and t.id < :beforeId)) " +
+            "order by t.eventDate desc, t.id desc")
+    List<TransactionResponseDTO> findHistoryPage(@Param("accountId") Long accountId,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to,
+                                                 @Param("operationTypeId") Integer operationTypeId,
+                                                 @Param("beforeDate") LocalDateTime beforeDate,
+                                                 @Param("beforeId") Long beforeId,
+                                                 Limit limit);
+
+    /**
+     * One account's transactions in {@code [from, to)}, oldest first, for exports. Must be consumed
+     * and closed inside a transaction; rows come from a forward-only cursor 1000 at a time.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.pismo.demo.dto.TransactionResponseDTO(t.id, t.account.id, t.operationTypeId, t.amount, t.eventDate) " +
+            "from Transaction t where t.account.id = :accountId and t.eventDate >= :from and t.eventDate < :to " +
+            "order by t.eventDate, t.id")
+    Stream<TransactionResponseDTO> streamByAccountForExport(@Param("accountId") Long accountId,
+                                                            @Param("from") LocalDateTime from,
+                                                            @Param("to") LocalDateTime to);
+
+    /**
+     * Every account's transactions in {@code [from, to)}, oldest first, for exports.
+     *
+     * @see #streamByAccountForExport
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.pismo.demo.dto.TransactionResponseDTO(t.id, t.account.id, t.operationTypeId, t.amount, t.eventDate) " +
+            "from Transaction t where t.eventDate >= :from and t.eventDate < :to " +
+            "order by t.eventDate, t.id")
+    Stream<TransactionResponseDTO> streamForExport(@Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to);
+
+    @Query("select coalesce(sum(t.amount), 0) from Transaction t " +
+            "where t.account.id = :accountId and t.eventDate >= :from and t.eventDate < :to")
+    BigDecimal sumAmounts(@Param("accountId") Long accountId,
+                          @Param("from") LocalDateTime from,
+                          @Param("to") LocalDateTime to);
+
+    @Query("select distinct t.account.id from Transaction t where t.eventDate >= :from and t.eventDate < :to " +
+            "order by t.account.id")
+    List<Long> findAccountIdsWithTransactions(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select min(t.eventDate) from Transaction t where t.eventDate >= :from")
+    Optional<LocalDateTime> findEarliestEventDate(@Param("from") LocalDateTime from);
+
+    /**
+     * Streams every idempotency key; must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t.idempotencyKey from Transaction t")
+    Stream<String> streamAllIdempotencyKeys();
 }
@@ -6,4 +6,5 @@ import com.pismo.demo.entity.Account;
 public interface AccountService {
     AccountResponseDTO createAccount(String documentNumber);
     AccountResponseDTO getAccount(Long id);
+    AccountResponseDTO getAccountByDocumentNumber(String documentNumber);
 }
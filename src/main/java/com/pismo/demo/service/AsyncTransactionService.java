@@ -0,0 +1,9 @@
+package com.pismo.demo.service;
+
+import com.pismo.demo.dto.TransactionRequestDTO;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncTransactionService {
+    CompletableFuture<TransactionResult> submitTransaction(TransactionRequestDTO request, String idempotencyKey);
+}
@@ -0,0 +1,9 @@
+package com.pismo.demo.service;
+
+import com.pismo.demo.dto.BalanceResponseDTO;
+
+import java.time.LocalDateTime;
+
+public interface BalanceService {
+    BalanceResponseDTO getBalance(Long accountId, LocalDateTime asOf);
+}
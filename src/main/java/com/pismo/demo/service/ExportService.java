@@ -0,0 +1,9 @@
+package com.pismo.demo.service;
+
+import com.pismo.demo.dto.TransactionExportQuery;
+import com.pismo.demo.exports.ExportFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface ExportService {
+    StreamingResponseBody exportTransactions(TransactionExportQuery query, ExportFormat format);
+}
@@ -0,0 +1,10 @@
+package com.pismo.demo.service;
+
+import com.pismo.demo.dto.ImportReportDTO;
+
+import java.io.InputStream;
+
+public interface ImportService {
+    ImportReportDTO importAccounts(InputStream ndjson, long resumeFromLine);
+    ImportReportDTO importTransactions(InputStream ndjson, long resumeFromLine);
+}
@@ -0,0 +1,37 @@
+package com.pismo.demo.service;
+
+import com.pismo.demo.exception.TransactionDeclinedException;
+
+/**
+ * Business reasons a transaction is refused without anything being written.
+ * <p>
+ * Declines are a normal, high-volume outcome, so each reason carries its preallocated
+ * {@link TransactionResult.Declined} and, for callers that need an exception, a shared
+ * stackless {@link TransactionDeclinedException}.
+ */
+public enum TransactionDecline {
+    LIMIT_EXCEEDED("Transaction denied: limit exceeded"),
+    INVALID_OPERATION_TYPE("Invalid Operation Type ID");
+
+    private final String message;
+    private final TransactionResult.Declined result;
+    private final TransactionDeclinedException exception;
+
+    TransactionDecline(String message) {
+        this.message = message;
+        this.result = new TransactionResult.Declined(this);
+        this.exception = new TransactionDeclinedException(this);
+    }
+
+    public String message() {
+        return message;
+    }
+
+    public TransactionResult.Declined result() {
+        return result;
+    }
+
+    public TransactionDeclinedException exception() {
+        return exception;
+    }
+}
@@ -0,0 +1,8 @@
+package com.pismo.demo.service;
+
+import com.pismo.demo.dto.TransactionHistoryQuery;
+import com.pismo.demo.dto.TransactionPageDTO;
+
+public interface TransactionHistoryService {
+    TransactionPageDTO getTransactions(Long accountId, TransactionHistoryQuery query);
+}
@@ -0,0 +1,30 @@
+package com.pismo.demo.service;
+
+import com.pismo.demo.dto.TransactionResponseDTO;
+
+/**
+ * Outcome of {@link TransactionService#submitTransaction}: the transaction was accepted (created or
+ * replayed), or declined for a business reason. Failures that are not business outcomes (missing
+ * account, database errors) are still thrown.
+ */
+public sealed interface TransactionResult {
+
+    /**
+     * Returns the accepted response, or throws the decline's {@link com.pismo.demo.exception.TransactionDeclinedException}.
+     */
+    TransactionResponseDTO orElseThrow();
+
+    record Accepted(TransactionResponseDTO response) implements TransactionResult {
+        @Override
+        public TransactionResponseDTO orElseThrow() {
+            return response;
+        }
+    }
+
+    record Declined(TransactionDecline reason) implements TransactionResult {
+        @Override
+        public TransactionResponseDTO orElseThrow() {
+            throw reason.exception();
+        }
+    }
+}
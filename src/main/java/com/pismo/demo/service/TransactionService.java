@@ -1,10 +1,21 @@
 package com.pismo.demo.service;
 
 
+import com.pismo.demo.dto.BatchTransactionItemDTO;
+import com.pismo.demo.dto.BatchTransactionResultDTO;
+import com.pismo.demo.dto.ImportTransactionItemDTO;
 import com.pismo.demo.dto.TransactionRequestDTO;
 import com.pismo.demo.dto.TransactionResponseDTO;
 import com.pismo.demo.entity.Transaction;
 
+import java.util.List;
+
 public interface TransactionService {
+    TransactionResult submitTransaction(TransactionRequestDTO request, String idempotencyKey);
+
     TransactionResponseDTO createTransaction(TransactionRequestDTO request, String idempotencyKey);
+
+    List<BatchTransactionResultDTO> createTransactions(List<BatchTransactionItemDTO> items);
+
+    List<BatchTransactionResultDTO> importTransactions(List<ImportTransactionItemDTO> items);
 }
@@ -1,22 +1,28 @@
 package com.pismo.demo.service.impl;
 
+import com.pismo.demo.cache.AccountCache;
 import com.pismo.demo.dto.AccountResponseDTO;
 import com.pismo.demo.entity.Account;
+import com.pismo.demo.exception.DuplicateAccountException;
 import com.pismo.demo.repository.AccountRepository;
 import com.pismo.demo.service.AccountService;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Optional;
+
 @Service
 public class AccountServiceImpl implements AccountService {
 
     private final AccountRepository accountRepository;
+    private final AccountCache accountCache;
 
-    public AccountServiceImpl(AccountRepository accountRepository) {
+    public AccountServiceImpl(AccountRepository accountRepository, AccountCache accountCache) {
         this.accountRepository = accountRepository;
+        this.accountCache = accountCache;
     }
     private static final Logger log = LoggerFactory.getLogger(AccountServiceImpl.class);
 
@@ -25,22 +31,49 @@ public class AccountServiceImpl implements AccountService {
      * <p>
      * This method initializes an Account entity, persists it to the database,
      * and logs the process. Any errors during persistence are logged and re-thrown.
+     * The save commits on its own, so the account is only written through to the
+     * {@link AccountCache} once it is durable.
+     * <p>
+     * Existing document numbers are detected before the insert (from the cache or with an indexed
+     * lookup), so retried onboarding requests do not go through a failed insert and a translated
+     * constraint violation. A document number that was just looked up and not found skips the
+     * lookup; the unique constraint still catches a concurrent create.
      *
      * @param documentNumber The unique document number associated with the account.
      * @return AccountResponseDTO containing the generated ID and document number.
-     * @throws DataIntegrityViolationException if the document number already exists.
+     * @throws DuplicateAccountException if the document number already exists.
+     * @throws DataIntegrityViolationException if the insert violates another constraint.
      */
     @Override
-    @Transactional
     public AccountResponseDTO createAccount(String documentNumber) {
-        log.info("create account for:{}", documentNumber);
+        log.debug("create account for:{}", documentNumber);
+
+        AccountResponseDTO existing = findExisting(documentNumber);
+        if (existing != null) {
+            log.warn("FAILED to create account. Document Number: {} :: error already exists as account {}",
+                    documentNumber, existing.accountId());
+            throw new DuplicateAccountException(existing.accountId());
+        }
 
         Account account = new Account();
         account.setDocumentNumber(documentNumber);
         try {
             Account savedAccount = accountRepository.save(account);
-            log.info("account created for: {}", documentNumber);
-            return new AccountResponseDTO(savedAccount.getId(), savedAccount.getDocumentNumber());
+            log.debug("account created for: {}", documentNumber);
+            AccountResponseDTO created = new AccountResponseDTO(savedAccount.getId(), savedAccount.getDocumentNumber());
+            accountCache.put(created);
+            return created;
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent create of the same document number.
+            Optional<AccountResponseDTO> winner = accountRepository.findResponseByDocumentNumber(documentNumber);
+            if (winner.isPresent()) {
+                accountCache.put(winner.get());
+                log.warn("FAILED to create account. Document Number: {} :: error already exists as account {}",
+                        documentNumber, winner.get().accountId());
+                throw new DuplicateAccountException(winner.get().accountId());
+            }
+            log.error("FAILED to create account. Document Number: {} :: error {}", documentNumber, e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("FAILED to create account. Document Number: {} :: error {}", documentNumber, e.getMessage());
             throw e;
@@ -50,23 +83,67 @@ public class AccountServiceImpl implements AccountService {
     /**
      * Retrieves account details by the account ID.
      * <p>
-     * Performs a read-only transaction to fetch account data.
+     * Served from the {@link AccountCache} when the account was read recently; otherwise the
+     * repository fetches it in a read-only transaction and the result is cached.
      *
      * @param accountId The unique identifier of the account.
      * @return AccountResponseDTO containing account details.
      * @throws EntityNotFoundException if no account is found with the given ID.
      */
     @Override
-    @Transactional(readOnly = true)
     public AccountResponseDTO getAccount(Long accountId) {
-        log.info("get account details for: {}", accountId);
+        log.debug("get account details for: {}", accountId);
+        AccountResponseDTO cached = accountCache.get(accountId);
+        if (cached != null) {
+            return cached;
+        }
         try{
             Account account = accountRepository.findById(accountId)
                     .orElseThrow(() -> new EntityNotFoundException("Account not found with ID: " + accountId));
-            return new AccountResponseDTO(account.getId(), account.getDocumentNumber());
+            AccountResponseDTO accountResponseDTO = new AccountResponseDTO(account.getId(), account.getDocumentNumber());
+            accountCache.put(accountResponseDTO);
+            return accountResponseDTO;
         }catch (Exception e) {
             log.error("FAILED to get account. Account accountId: {} :: error {}", accountId, e.getMessage());
             throw e;
         }
     }
+
+    /**
+     * Retrieves the account holding a document number.
+     * <p>
+     * Served from the {@link AccountCache} when the document was resolved recently. Document numbers
+     * that were not found are remembered for a short TTL, so polling for an account that does not
+     * exist yet does not query the database every time.
+     *
+     * @throws EntityNotFoundException  if no account holds the document number.
+     * @throws IllegalArgumentException if the document number is blank.
+     */
+    @Override
+    public AccountResponseDTO getAccountByDocumentNumber(String documentNumber) {
+        if (documentNumber == null || documentNumber.isBlank()) {
+            throw new IllegalArgumentException("Document number is required");
+        }
+        log.debug("get account details for document number: {}", documentNumber);
+        AccountResponseDTO account = findExisting(documentNumber);
+        if (account == null) {
+            accountCache.putUnknownDocument(documentNumber);
+            throw new EntityNotFoundException("Account not found with document number: " + documentNumber);
+        }
+        return account;
+    }
+
+    /**
+     * Returns the account holding {@code documentNumber}, or {@code null} if there is none or it
+     * was recently found not to exist.
+     */
+    private AccountResponseDTO findExisting(String documentNumber) {
+        AccountResponseDTO cached = accountCache.getByDocumentNumber(documentNumber);
+        if (cached != null || accountCache.isUnknownDocument(documentNumber)) {
+            return cached;
+        }
+        Optional<AccountResponseDTO> stored = accountRepository.findResponseByDocumentNumber(documentNumber);
+        stored.ifPresent(accountCache::put);
+        return stored.orElse(null);
+    }
 }
@@ -0,0 +1,151 @@
+package com.pismo.demo.service.impl;
+
+import com.pismo.demo.config.AsyncTransactionProperties;
+import com.pismo.demo.dto.TransactionRequestDTO;
+import com.pismo.demo.exception.ServiceOverloadedException;
+import com.pismo.demo.service.AsyncTransactionService;
+import com.pismo.demo.service.TransactionResult;
+import com.pismo.demo.service.TransactionService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs {@link TransactionService#submitTransaction} on a dedicated, bounded executor so that the
+ * servlet thread is released while the database works.
+ * <p>
+ * When the database slows down, transactions pile up in this executor's queue instead of in the
+ * servlet pool, which keeps serving reads and health checks. Once the queue is full new requests are
+ * rejected at once, and a request still unanswered after {@code transactions.async.timeout} is given
+ * up on; both surface as {@link ServiceOverloadedException} (503 with {@code Retry-After}). A timed-out
+ * transaction may still commit afterwards; retrying with the same idempotency key then replays it.
+ * <p>
+ * With {@code spring.threads.virtual.enabled=true} each transaction gets its own virtual thread
+ * instead: a pool of platform threads would only cap a server whose request threads are already
+ * cheap. Database concurrency is then bounded by {@code virtual-threads.db-permits}, and a semaphore
+ * of {@code threads + queue-capacity} permits bounds the transactions in flight, so overload is still
+ * answered with 503 at the same point rather than by an unbounded number of threads waiting for a
+ * connection. A permit is only returned when the transaction finishes, not when its request times out.
+ */
+@Service
+public class AsyncTransactionServiceImpl implements AsyncTransactionService, MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncTransactionServiceImpl.class);
+
+    private final TransactionService transactionService;
+    private final ExecutorService executor;
+    // Only with virtual threads; the platform pool is bounded by its queue.
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final Duration timeout;
+    private final Duration retryAfter;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public AsyncTransactionServiceImpl(TransactionService transactionService, AsyncTransactionProperties properties,
+                                       Environment environment) {
+        this.transactionService = transactionService;
+        this.timeout = properties.getTimeout();
+        this.retryAfter = properties.getRetryAfter();
+        if (Threading.VIRTUAL.isActive(environment)) {
+            this.maxInFlight = properties.getThreads() + properties.getQueueCapacity();
+            this.inFlight = new Semaphore(maxInFlight);
+            this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("transaction-async-", 0).factory());
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.maxInFlight = 0;
+            this.inFlight = null;
+            this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                    runnable -> new Thread(runnable, "transaction-async-" + threadCount.getAndIncrement()));
+        }
+    }
+
+    /**
+     * Queues the transaction and returns a future completed with its result, or with the same
+     * exception {@link TransactionService#submitTransaction} would have thrown.
+     *
+     * @throws ServiceOverloadedException if the queue is full, or all in-flight permits are taken.
+     */
+    @Override
+    public CompletableFuture<TransactionResult> submitTransaction(TransactionRequestDTO request, String idempotencyKey) {
+        if (inFlight != null && !inFlight.tryAcquire()) {
+            throw overloaded(idempotencyKey);
+        }
+        CompletableFuture<TransactionResult> response;
+        try {
+            response = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return transactionService.submitTransaction(request, idempotencyKey);
+                } finally {
+                    // Not on the response: orTimeout completes that one while the transaction still runs.
+                    if (inFlight != null) {
+                        inFlight.release();
+                    }
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            if (inFlight != null) {
+                inFlight.release();
+            }
+            throw overloaded(idempotencyKey);
+        }
+        return response.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                .exceptionallyCompose(e -> {
+                    if (e instanceof TimeoutException) {
+                        timedOut.increment();
+                        log.warn("FAILED to complete transaction in {} ms. Idempotency key: {}",
+                                timeout.toMillis(), idempotencyKey);
+                        return CompletableFuture.failedFuture(new ServiceOverloadedException(
+                                "The transaction did not complete in time. Please retry with the same key.", retryAfter));
+                    }
+                    return CompletableFuture.failedFuture(e instanceof CompletionException && e.getCause() != null
+                            ? e.getCause() : e);
+                });
+    }
+
+    private ServiceOverloadedException overloaded(String idempotencyKey) {
+        rejected.increment();
+        log.warn("FAILED to queue transaction. Idempotency key: {} :: error queue full", idempotencyKey);
+        return new ServiceOverloadedException("The service is overloaded. Please retry later.", retryAfter);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (inFlight == null) {
+            new ExecutorServiceMetrics(executor, "transactions.async", Tags.empty()).bindTo(registry);
+        } else {
+            Gauge.builder("transactions.async.in-flight", inFlight, permits -> maxInFlight - permits.availablePermits())
+                    .description("Transactions running on virtual threads")
+                    .register(registry);
+        }
+        FunctionCounter.builder("transactions.async.overloaded", rejected, LongAdder::sum)
+                .tag("reason", "queue-full")
+                .description("Transactions answered with 503 because the service was saturated")
+                .register(registry);
+        FunctionCounter.builder("transactions.async.overloaded", timedOut, LongAdder::sum)
+                .tag("reason", "timeout")
+                .description("Transactions answered with 503 because the service was saturated")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,44 @@
+package com.pismo.demo.service.impl;
+
+import com.pismo.demo.dto.BalanceResponseDTO;
+import com.pismo.demo.repository.AccountRepository;
+import com.pismo.demo.service.BalanceService;
+import com.pismo.demo.snapshot.HistoricalBalances;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+public class BalanceServiceImpl implements BalanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceServiceImpl.class);
+
+    private final AccountRepository accountRepository;
+    private final HistoricalBalances historicalBalances;
+
+    public BalanceServiceImpl(AccountRepository accountRepository, HistoricalBalances historicalBalances) {
+        this.accountRepository = accountRepository;
+        this.historicalBalances = historicalBalances;
+    }
+
+    /**
+     * Returns the balance of the account as of {@code asOf}: every transaction dated strictly before it
+     * counts, so midnight of the 1st gives the month-end balance. Answered from the latest daily
+     * snapshot before that day plus the transactions since, see {@link HistoricalBalances}.
+     *
+     * @param asOf the point in time; now if {@code null}.
+     * @throws EntityNotFoundException if the account does not exist.
+     */
+    @Override
+    public BalanceResponseDTO getBalance(Long accountId, LocalDateTime asOf) {
+        if (!accountRepository.existsById(accountId)) {
+            log.error("FAILED to get balance. Account accountId: {} :: error Account not found", accountId);
+            throw new EntityNotFoundException("Account not found with ID: " + accountId);
+        }
+        LocalDateTime at = asOf != null ? asOf : LocalDateTime.now();
+        return new BalanceResponseDTO(accountId, historicalBalances.balanceAt(accountId, at), at);
+    }
+}
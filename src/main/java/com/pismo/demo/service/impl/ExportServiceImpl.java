@@ -0,0 +1,108 @@
+package com.pismo.demo.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pismo.demo.dto.TransactionExportQuery;
+import com.pismo.demo.dto.TransactionResponseDTO;
+import com.pismo.demo.exports.ExportFormat;
+import com.pismo.demo.exports.TransactionRowWriter;
+import com.pismo.demo.repository.AccountRepository;
+import com.pismo.demo.repository.TransactionRepository;
+import com.pismo.demo.service.ExportService;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public ExportServiceImpl(TransactionRepository transactionRepository,
+                             AccountRepository accountRepository,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns a body that streams the matching transactions, oldest first, in the given format.
+     * <p>
+     * Rows are read through a forward-only cursor as DTO projections, so nothing accumulates in the
+     * persistence context, and each row is written to the buffered output as soon as it is read;
+     * memory stays flat however many rows are exported. The read runs in its own read-only
+     * transaction with plain selects, so it never locks {@code account} rows against writers.
+     * <p>
+     * The account is checked here, before the response is committed; failures while streaming can
+     * only abort the connection.
+     *
+     * @throws EntityNotFoundException if an account is given and does not exist.
+     */
+    @Override
+    public StreamingResponseBody exportTransactions(TransactionExportQuery query, ExportFormat format) {
+        if (query.accountId() != null && !accountRepository.existsById(query.accountId())) {
+            log.error("FAILED to export transactions. Account accountId: {} :: error Account not found", query.accountId());
+            throw new EntityNotFoundException("Account not found with ID: " + query.accountId());
+        }
+        LocalDateTime from = query.from() != null ? query.from() : EARLIEST;
+        LocalDateTime to = query.to() != null ? query.to() : LATEST;
+
+        return out -> {
+            long started = System.nanoTime();
+            TransactionRowWriter writer = format.open(out, objectMapper);
+            try {
+                long rows = readOnlyTransaction.execute(status -> {
+                    try (Stream<TransactionResponseDTO> transactions = query.accountId() != null
+                            ? transactionRepository.streamByAccountForExport(query.accountId(), from, to)
+                            : transactionRepository.streamForExport(from, to)) {
+                        return writeAll(transactions.iterator(), writer);
+                    }
+                });
+                writer.finish();
+                log.info("Exported {} transactions as {} in {} ms", rows, format, (System.nanoTime() - started) / 1_000_000);
+            } catch (UncheckedIOException e) {
+                log.error("FAILED to export transactions {} :: error {}", query, e.getCause().getMessage());
+                throw e.getCause();
+            } catch (RuntimeException e) {
+                log.error("FAILED to export transactions {} :: error {}", query, e.getMessage());
+                throw e;
+            }
+        };
+    }
+
+    private static long writeAll(Iterator<TransactionResponseDTO> transactions, TransactionRowWriter writer) {
+        long rows = 0;
+        try {
+            while (transactions.hasNext()) {
+                writer.write(transactions.next());
+                rows++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+}
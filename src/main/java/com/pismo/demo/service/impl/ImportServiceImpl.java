@@ -0,0 +1,104 @@
+package com.pismo.demo.service.impl;
+
+import com.pismo.demo.cache.AccountCache;
+import com.pismo.demo.config.LedgerProperties;
+import com.pismo.demo.dto.BatchTransactionResultDTO;
+import com.pismo.demo.dto.CreateAccountRequest;
+import com.pismo.demo.dto.ImportReportDTO;
+import com.pismo.demo.dto.ImportTransactionItemDTO;
+import com.pismo.demo.entity.Account;
+import com.pismo.demo.imports.NdjsonImporter;
+import com.pismo.demo.imports.NdjsonImporter.ChunkResult;
+import com.pismo.demo.repository.AccountRepository;
+import com.pismo.demo.service.ImportService;
+import com.pismo.demo.service.TransactionService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.util.*;
+
+@Service
+public class ImportServiceImpl implements ImportService {
+
+    private final NdjsonImporter ndjsonImporter;
+    private final AccountRepository accountRepository;
+    private final TransactionService transactionService;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerProperties ledgerProperties;
+    private final AccountCache accountCache;
+
+    public ImportServiceImpl(NdjsonImporter ndjsonImporter,
+                             AccountRepository accountRepository,
+                             TransactionService transactionService,
+                             TransactionTemplate transactionTemplate,
+                             LedgerProperties ledgerProperties,
+                             AccountCache accountCache) {
+        this.ndjsonImporter = ndjsonImporter;
+        this.accountRepository = accountRepository;
+        this.transactionService = transactionService;
+        this.transactionTemplate = transactionTemplate;
+        this.ledgerProperties = ledgerProperties;
+        this.accountCache = accountCache;
+    }
+
+    /**
+     * Imports accounts, one {@code {"document_number": ...}} object per line.
+     * <p>
+     * Each chunk is inserted in one database transaction with batched inserts. Document numbers that
+     * already exist are skipped, so resending a partly imported file is safe.
+     */
+    @Override
+    public ImportReportDTO importAccounts(InputStream ndjson, long resumeFromLine) {
+        return ndjsonImporter.importLines("accounts", ndjson, resumeFromLine, Integer.MAX_VALUE,
+                CreateAccountRequest.class, this::insertAccounts);
+    }
+
+    /**
+     * Imports transactions, one batch item ({@code idempotency_key}, {@code account_id},
+     * {@code operation_type_id}, {@code amount} and optionally {@code event_date}) per line.
+     * <p>
+     * Each chunk goes through {@link TransactionService#importTransactions}, so balances and limits are
+     * applied exactly as for the batch endpoint. Keys that were already used are skipped, which makes
+     * resending a partly imported file safe. Event dates in the future or on days that already have
+     * balance snapshots are reported as failed lines.
+     */
+    @Override
+    public ImportReportDTO importTransactions(InputStream ndjson, long resumeFromLine) {
+        return ndjsonImporter.importLines("transactions", ndjson, resumeFromLine,
+                ledgerProperties.getBatch().getMaxItems(), ImportTransactionItemDTO.class, this::applyTransactions);
+    }
+
+    private ChunkResult insertAccounts(List<CreateAccountRequest> records) {
+        Set<String> documentNumbers = new HashSet<>();
+        records.forEach(record -> documentNumbers.add(record.documentNumber()));
+        Set<String> existing = new HashSet<>(accountRepository.findExistingDocumentNumbers(documentNumbers));
+
+        List<Account> accounts = new ArrayList<>(records.size());
+        for (CreateAccountRequest record : records) {
+            if (existing.add(record.documentNumber())) {
+                Account account = new Account();
+                account.setDocumentNumber(record.documentNumber());
+                accounts.add(account);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> accountRepository.saveAll(accounts));
+        accounts.forEach(account -> accountCache.invalidateUnknownDocument(account.getDocumentNumber()));
+        return new ChunkResult(records.size() - accounts.size(), Map.of());
+    }
+
+    private ChunkResult applyTransactions(List<ImportTransactionItemDTO> records) {
+        List<BatchTransactionResultDTO> results = transactionService.importTransactions(records);
+        int skipped = 0;
+        Map<Integer, String> errors = new HashMap<>();
+        for (int i = 0; i < results.size(); i++) {
+            BatchTransactionResultDTO result = results.get(i);
+            switch (result.status()) {
+                case CREATED -> { }
+                case REPLAYED -> skipped++;
+                default -> errors.put(i, result.status() + ": " + result.error());
+            }
+        }
+        return new ChunkResult(skipped, errors);
+    }
+}
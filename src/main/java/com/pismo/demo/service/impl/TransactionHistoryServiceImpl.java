@@ -0,0 +1,105 @@
+package com.pismo.demo.service.impl;
+
+import com.pismo.demo.dto.TransactionHistoryQuery;
+import com.pismo.demo.dto.TransactionPageDTO;
+import com.pismo.demo.dto.TransactionResponseDTO;
+import com.pismo.demo.repository.AccountRepository;
+import com.pismo.demo.repository.TransactionRepository;
+import com.pismo.demo.service.TransactionHistoryService;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+public class TransactionHistoryServiceImpl implements TransactionHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionHistoryServiceImpl.class);
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Open ends of the event_date range, so the query needs no null checks on its indexed columns.
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+
+    public TransactionHistoryServiceImpl(TransactionRepository transactionRepository,
+                                         AccountRepository accountRepository) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+    }
+
+    /**
+     * Returns a page of the account's transactions, newest first.
+     * <p>
+     * Pages use keyset pagination: the cursor holds the {@code (event_date, id)} of the last row of the
+     * previous page and the next page starts right after it, so every page is an index range scan on
+     * {@code (account_id, event_date, id)} no matter how deep it is. Rows are read as DTO projections;
+     * no entities or account proxies are loaded. One extra row is fetched to tell whether another page
+     * follows.
+     *
+     * @throws EntityNotFoundException  if the account does not exist.
+     * @throws IllegalArgumentException if the limit is out of range or the cursor is not valid.
+     */
+    @Override
+    public TransactionPageDTO getTransactions(Long accountId, TransactionHistoryQuery query) {
+        if (query.limit() < 1 || query.limit() > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        LocalDateTime beforeDate = LATEST;
+        long beforeId = Long.MAX_VALUE;
+        if (query.cursor() != null) {
+            Cursor cursor = Cursor.decode(query.cursor());
+            beforeDate = cursor.eventDate();
+            beforeId = cursor.id();
+        }
+
+        List<TransactionResponseDTO> rows = transactionRepository.findHistoryPage(accountId,
+                query.from() != null ? query.from() : EARLIEST,
+                query.to() != null ? query.to() : LATEST,
+                query.operationTypeId(), beforeDate, beforeId, Limit.of(query.limit() + 1));
+
+        // Only an empty page needs to tell a missing account from one without matching transactions.
+        if (rows.isEmpty() && !accountRepository.existsById(accountId)) {
+            log.error("FAILED to get transactions. Account accountId: {} :: error Account not found", accountId);
+            throw new EntityNotFoundException("Account not found with ID: " + accountId);
+        }
+        if (rows.size() <= query.limit()) {
+            return new TransactionPageDTO(rows, null);
+        }
+        List<TransactionResponseDTO> page = rows.subList(0, query.limit());
+        TransactionResponseDTO last = page.get(page.size() - 1);
+        return new TransactionPageDTO(List.copyOf(page), new Cursor(last.eventDate(), last.transactionId()).encode());
+    }
+
+    /**
+     * Position after the last row of a page, sent to clients as an opaque URL-safe token.
+     */
+    record Cursor(LocalDateTime eventDate, long id) {
+
+        String encode() {
+            String value = eventDate + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token) {
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int separator = value.indexOf('|');
+                return new Cursor(LocalDateTime.parse(value.substring(0, separator)),
+                        Long.parseLong(value.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -1,19 +1,51 @@
 package com.pismo.demo.service.impl;
 
+import com.pismo.demo.config.BalanceUpdateStrategy;
+import com.pismo.demo.config.LedgerMode;
+import com.pismo.demo.config.LedgerProperties;
+import com.pismo.demo.dto.BatchTransactionItemDTO;
+import com.pismo.demo.dto.BatchTransactionResultDTO;
+import com.pismo.demo.dto.BatchTransactionResultDTO.Status;
+import com.pismo.demo.dto.ImportTransactionItemDTO;
 import com.pismo.demo.dto.TransactionRequestDTO;
 import com.pismo.demo.dto.TransactionResponseDTO;
 import com.pismo.demo.entity.*;
+import com.pismo.demo.idempotency.IdempotencyRegistry;
+import com.pismo.demo.ledger.EventSourcedLedger;
+import com.pismo.demo.ledger.Futures;
+import com.pismo.demo.ledger.LedgerExecutor;
+import com.pismo.demo.ledger.OptimisticRetryExecutor;
+import com.pismo.demo.ledger.PendingTransaction;
+import com.pismo.demo.ledger.TransactionBatchProcessor;
+import com.pismo.demo.ledger.TransactionBatchWriter;
+import com.pismo.demo.metrics.TransactionOutcome;
+import com.pismo.demo.metrics.TransactionStage;
+import com.pismo.demo.metrics.TransactionStageMetrics;
+import com.pismo.demo.metrics.TransactionStageMetrics.StageTimings;
+import com.pismo.demo.money.Money;
+import com.pismo.demo.operation.OperationTypeDefinition;
+import com.pismo.demo.operation.OperationTypeRegistry;
 import com.pismo.demo.repository.*;
+import com.pismo.demo.exception.TransactionDeclinedException;
+import com.pismo.demo.service.TransactionDecline;
+import com.pismo.demo.service.TransactionResult;
 import com.pismo.demo.service.TransactionService;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
 
 @Service
 public class TransactionServiceImpl implements TransactionService {
@@ -22,14 +54,56 @@ public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
-    private final OperationTypeRepository operationTypeRepository;
+    private final OperationTypeRegistry operationTypeRegistry;
+    private final LedgerExecutor ledgerExecutor;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerProperties ledgerProperties;
+    private final TransactionBatchWriter batchWriter;
+    private final EventSourcedLedger eventSourcedLedger;
+    private final IdempotencyRegistry idempotencyRegistry;
+    private final TransactionBatchProcessor batchProcessor;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final TransactionStageMetrics stageMetrics;
+    private final Money creditLimit;
+    private final BigDecimal minorUnit;
+    private final int scale;
+    // Queued transactions carry Money, so the write-behind and event-sourced modes always use minor units.
+    private final boolean minorUnits;
+    private final Map<String, CompletableFuture<TransactionResult>> inFlightRequests = new ConcurrentHashMap<>();
 
     public TransactionServiceImpl(TransactionRepository transactionRepository,
                                   AccountRepository accountRepository,
-                                  OperationTypeRepository operationTypeRepository) {
+                                  OperationTypeRegistry operationTypeRegistry,
+                                  LedgerExecutor ledgerExecutor,
+                                  OptimisticRetryExecutor optimisticRetryExecutor,
+                                  TransactionTemplate transactionTemplate,
+                                  LedgerProperties ledgerProperties,
+                                  ObjectProvider<TransactionBatchWriter> batchWriterProvider,
+                                  ObjectProvider<EventSourcedLedger> eventSourcedLedgerProvider,
+                                  IdempotencyRegistry idempotencyRegistry,
+                                  TransactionBatchProcessor batchProcessor,
+                                  BalanceSnapshotRepository balanceSnapshotRepository,
+                                  TransactionStageMetrics stageMetrics) {
         this.transactionRepository = transactionRepository;
         this.accountRepository = accountRepository;
-        this.operationTypeRepository = operationTypeRepository;
+        this.operationTypeRegistry = operationTypeRegistry;
+        this.ledgerExecutor = ledgerExecutor;
+        this.optimisticRetryExecutor = optimisticRetryExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.ledgerProperties = ledgerProperties;
+        this.creditLimit = Money.of(Account.CREDIT_LIMIT, ledgerProperties.getCurrency());
+        this.scale = creditLimit.scale();
+        this.minorUnit = BigDecimal.ONE.movePointLeft(scale);
+        this.batchWriter = ledgerProperties.getMode() == LedgerMode.WRITE_BEHIND ? batchWriterProvider.getObject() : null;
+        // Created here so that its recovery runs at startup rather than on the first request.
+        this.eventSourcedLedger = ledgerProperties.getMode() == LedgerMode.EVENT_SOURCED
+                ? eventSourcedLedgerProvider.getObject() : null;
+        this.idempotencyRegistry = idempotencyRegistry;
+        this.batchProcessor = batchProcessor;
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.stageMetrics = stageMetrics;
+        this.minorUnits = ledgerProperties.isMinorUnits() || batchWriter != null || eventSourcedLedger != null;
     }
 
     /**
@@ -37,88 +111,460 @@ public class TransactionServiceImpl implements TransactionService {
      * <p>
      * This method performs the following steps:
      * 1. <b>Idempotency Check:</b> Checks if a transaction with the provided {@code idempotencyKey} already exists.
-     * If found, returns the existing transaction to prevent duplicate processing.
-     * 2. <b>Validation:</b> Verifies that the Account and Operation Type exist.
+     * If found, returns the existing transaction to prevent duplicate processing. The check goes through the
+     * {@link IdempotencyRegistry}, which answers recent and brand-new keys without querying the database.
+     * Concurrent requests with a key that is still being processed wait for the first one and return its
+     * result (or its failure) instead of repeating the work; a key committed by someone else after the check
+     * is detected by the unique constraint and replayed.
+     * 2. <b>Validation:</b> Verifies that the Account and Operation Type exist. Operation types are read from the
+     * in-memory {@link OperationTypeRegistry} rather than the database.
      * 3. <b>Business Logic:</b>
      * <ul>
      * <li><b>Debits (Negative Multiplier):</b> Checks if the transaction amount is within the allowed limit
      * (Current Balance + 1000.00 buffer). If valid, subtracts the amount from the balance.</li>
      * <li><b>Credits (Positive Multiplier):</b> Adds the transaction amount to the current balance.</li>
      * </ul>
+     * Amounts are rounded half-up to the scale of {@code ledger.currency}, like its decimal columns. With
+     * {@code ledger.minor-units} they are instead converted once to {@link Money} (long minor units), checked
+     * and applied as longs, and amounts with more decimal places than the currency allows are rejected.
+     * Either way the response carries the currency's scale, like a replay read from the column.
      * 4. <b>Persistence:</b> Saves the new transaction record and updates the account balance in the database.
+     * Daily balance snapshots dated on or after the transaction are moved along with it.
+     * <p>
+     * Steps 2-4 run in a single database transaction handed to the {@link LedgerExecutor}, which either
+     * runs it inline or on the single-threaded shard owning the account (see {@code ledger.mode}).
+     * By default ({@code ledger.balance-update=atomic}) the limit check and balance change are a single
+     * conditional UPDATE on the account row. In {@code optimistic} mode the account is loaded and saved;
+     * its row is versioned, so a concurrent update of the same balance makes the commit fail and the
+     * whole transaction is retried with backoff by the {@link OptimisticRetryExecutor}. The backoff runs on the
+     * calling thread and every attempt goes through the {@link LedgerExecutor} again, so in sharded mode a shard
+     * thread never sleeps.
+     * <p>
+     * With {@code ledger.mode=write-behind} the validated request is instead queued on the
+     * {@link TransactionBatchWriter} and this call returns once the micro-batch holding it has committed.
+     * With {@code ledger.mode=event-sourced} it goes to the {@link EventSourcedLedger}, which checks the limit
+     * against its in-memory balance and only appends the transaction row.
+     * <p>
+     * Each step is timed into {@code ledger.transaction.stage} (see {@link TransactionStageMetrics}), tagged with
+     * the operation type and the outcome of the call.
+     *
+     * <p>
+     * A decline (limit exceeded, unknown operation type) is returned as {@link TransactionResult.Declined}
+     * rather than thrown: the database transaction commits without having written anything, and no
+     * exception or log line is produced. The operation type is resolved before any database work.
      *
      * @param request        The DTO containing account ID, operation type, and transaction amount.
      * @param idempotencyKey A unique key (header) provided by the client to ensure the request is processed only once.
-     * @return TransactionResponseDTO containing the persisted transaction details.
+     * @return the persisted (or replayed) transaction, or the reason it was declined.
      * @throws EntityNotFoundException  if the account does not exist.
-     * @throws IllegalArgumentException if the operation type is invalid or if the transaction exceeds the available limit.
+     * @throws IllegalArgumentException if the amount has more decimal places than the currency allows
+     *                                  (minor units only).
      */
     @Override
-    @Transactional
-    public TransactionResponseDTO createTransaction(TransactionRequestDTO request, String idempotencyKey) {
-        log.info("Initiating transaction. Account: {}, Type: {}, Amount: {}, key:{}",
+    public TransactionResult submitTransaction(TransactionRequestDTO request, String idempotencyKey) {
+        log.debug("Initiating transaction. Account: {}, Type: {}, Amount: {}, key:{}",
                 request.accountId(), request.operationTypeId(), request.amount(), idempotencyKey);
 
-        Optional<Transaction> existingTransaction = transactionRepository.findByIdempotencyKey(idempotencyKey);
-        if (existingTransaction.isPresent()) {
-            Transaction t = existingTransaction.get();
-            log.info("Idempotency hit! Returning existing transaction ID: {}", t.getId());
-            return new TransactionResponseDTO(
-                    t.getId(),
-                    t.getAccount().getId(),
-                    t.getOperationTypeId(),
-                    t.getAmount(),
-                    t.getEventDate()
-            );
+        StageTimings timings = stageMetrics.start();
+        TransactionOutcome outcome = TransactionOutcome.REPLAYED;
+        try {
+            Optional<TransactionResponseDTO> existingTransaction = idempotencyRegistry.find(idempotencyKey);
+            timings.lap(TransactionStage.IDEMPOTENCY);
+            if (existingTransaction.isPresent()) {
+                log.debug("Idempotency hit! Returning existing transaction ID: {}", existingTransaction.get().transactionId());
+                return new TransactionResult.Accepted(existingTransaction.get());
+            }
+
+            CompletableFuture<TransactionResult> inFlight = new CompletableFuture<>();
+            CompletableFuture<TransactionResult> firstRequest = inFlightRequests.putIfAbsent(idempotencyKey, inFlight);
+            if (firstRequest != null) {
+                log.debug("Idempotency key {} already in flight, waiting for the first request", idempotencyKey);
+                // A copy: a waiter giving up cancels only its own view, not the first request's result.
+                TransactionResult result = Futures.await(firstRequest.copy());
+                if (result instanceof TransactionResult.Declined) {
+                    outcome = TransactionOutcome.DECLINED;
+                }
+                return result;
+            }
+            try {
+                // A request with this key may have finished between the lookup above and claiming the key.
+                Optional<TransactionResponseDTO> recent = idempotencyRegistry.findRecent(idempotencyKey);
+                timings.lap(TransactionStage.IDEMPOTENCY);
+                TransactionResult result;
+                if (recent.isPresent()) {
+                    result = new TransactionResult.Accepted(recent.get());
+                } else {
+                    result = processTransaction(request, idempotencyKey, timings);
+                    outcome = result instanceof TransactionResult.Declined
+                            ? TransactionOutcome.DECLINED : TransactionOutcome.CREATED;
+                }
+                inFlight.complete(result);
+                return result;
+            } catch (RuntimeException e) {
+                inFlight.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlightRequests.remove(idempotencyKey, inFlight);
+            }
+        } catch (RuntimeException e) {
+            outcome = TransactionOutcome.of(e);
+            throw e;
+        } finally {
+            stageMetrics.record(timings, request.operationTypeId(), outcome);
         }
+    }
+
+    /**
+     * Exception-based form of {@link #submitTransaction}: a decline is thrown as the shared, stackless
+     * {@link TransactionDeclinedException} of its reason.
+     *
+     * @throws EntityNotFoundException      if the account does not exist.
+     * @throws TransactionDeclinedException if the transaction is declined.
+     * @throws IllegalArgumentException     if the amount is invalid.
+     */
+    @Override
+    public TransactionResponseDTO createTransaction(TransactionRequestDTO request, String idempotencyKey) {
+        return submitTransaction(request, idempotencyKey).orElseThrow();
+    }
 
+    private TransactionResult processTransaction(TransactionRequestDTO request, String idempotencyKey,
+                                                 StageTimings timings) {
         try {
-            Account account = accountRepository.findById(request.accountId())
-                    .orElseThrow(() -> {
-                        log.error("Transaction failed: Account ID {} does not exists", request.accountId());
-                        return new EntityNotFoundException("Account not found");
-                    });
-
-            OperationType type = operationTypeRepository.findById(Long.valueOf(request.operationTypeId()))
-                    .orElseThrow(() -> {
-                        log.error("Transaction failed: Invalid Operation Type ID {}", request.operationTypeId());
-                        return new IllegalArgumentException("Invalid Operation Type ID");
-                    });
-
-            BigDecimal finalAmount = request.amount().abs().multiply(BigDecimal.valueOf(type.getSignMultiplier()));
-
-            BigDecimal  currentBalance = account.getBalance();
-            if(type.getSignMultiplier() < 0){
-               BigDecimal newLimit = currentBalance.add(BigDecimal.valueOf(1000));
-                if(newLimit.compareTo(request.amount()) < 0){
-                    throw new IllegalArgumentException("Transaction denied: limit exceeded");
-                }else{
-                    account.setBalance(currentBalance.subtract(request.amount()));
+            Money amount = minorUnits ? Money.of(request.amount(), ledgerProperties.getCurrency()) : null;
+            timings.restart();
+            OperationTypeDefinition type = operationTypeRegistry.get(request.operationTypeId());
+            timings.lap(TransactionStage.OPERATION_TYPE);
+            if (type == null) {
+                return TransactionDecline.INVALID_OPERATION_TYPE.result();
+            }
+            TransactionResult result;
+            if (batchWriter != null) {
+                try {
+                    result = new TransactionResult.Accepted(batchWriter.write(new PendingTransaction(
+                            request.accountId(), type.id(), type.signMultiplier(), amount, idempotencyKey)));
+                } catch (TransactionDeclinedException e) {
+                    result = e.getReason().result();
+                }
+                timings.lap(TransactionStage.COMMIT);
+            } else if (eventSourcedLedger != null) {
+                try {
+                    result = new TransactionResult.Accepted(eventSourcedLedger.append(new PendingTransaction(
+                            request.accountId(), type.id(), type.signMultiplier(), amount, idempotencyKey)));
+                } catch (TransactionDeclinedException e) {
+                    result = e.getReason().result();
                 }
+                timings.lap(TransactionStage.COMMIT);
+            } else {
+                // Retries wrap the executor, not the other way round: a backoff sleeps on the calling thread
+                // and each attempt is submitted afresh, so a hot account never stalls the shard it lives on.
+                result = optimisticRetryExecutor.execute(request.accountId(),
+                        () -> ledgerExecutor.execute(request.accountId(), () -> {
+                            TransactionResult applied = transactionTemplate.execute(status -> {
+                                timings.restart();
+                                return applyTransaction(request, type, amount, idempotencyKey, timings);
+                            });
+                            timings.lap(TransactionStage.COMMIT);
+                            return applied;
+                        }));
             }
-            else {
-                account.setBalance(currentBalance.add(request.amount()));
-            }
-            Transaction transaction = new Transaction();
-            transaction.setAccount(account);
-            transaction.setOperationTypeId(type.getId().intValue());
-            transaction.setAmount(finalAmount);
-            transaction.setEventDate(LocalDateTime.now());
-            transaction.setIdempotencyKey(idempotencyKey);
-            Transaction savedTransaction = transactionRepository.save(transaction);
-            accountRepository.save(account);
-            log.info("Transaction saved successfully with ID: {}", savedTransaction.getId());
-            return new TransactionResponseDTO(
-                    savedTransaction.getId(),
-                    savedTransaction.getAccount().getId(),
-                    savedTransaction.getOperationTypeId(),
-                    savedTransaction.getAmount(),
-                    savedTransaction.getEventDate()
-            );
-
+            if (result instanceof TransactionResult.Accepted accepted) {
+                idempotencyRegistry.record(idempotencyKey, accepted.response());
+            }
+            return result;
+        } catch (DataIntegrityViolationException e) {
+            // The key was committed elsewhere (e.g. by another instance) after our lookup: replay that result.
+            Optional<TransactionResponseDTO> committed = idempotencyRegistry.findInDatabase(idempotencyKey);
+            if (committed.isPresent()) {
+                log.debug("Idempotency key {} committed concurrently, returning transaction ID: {}",
+                        idempotencyKey, committed.get().transactionId());
+                return new TransactionResult.Accepted(committed.get());
+            }
+            log.error("FAILED to create transaction. Account: {} :: error {}", request.accountId(), e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("FAILED to create transaction. Account: {} :: error {}", request.accountId(), e.getMessage());
             throw e;
         }
     }
+
+    /**
+     * Processes a batch of transactions, each with its own idempotency key, and reports an outcome per item.
+     * <p>
+     * All keys are checked with one set-based lookup; repeated keys are replayed. Items that pass validation
+     * are applied by the {@link TransactionBatchProcessor} in chunks of {@code ledger.batch.chunk-size}: one
+     * database transaction, one JDBC batch of conditional balance updates (ordered by account) and batched
+     * inserts per chunk. A key repeated within the batch is applied once and reported as replayed for its
+     * later occurrences. Failures are reported on their item and do not fail the rest of the batch.
+     * <p>
+     * Balance changes go through the same conditional UPDATE in every ledger mode, so batches are safe to
+     * mix with single requests; they do not pass through the shard executors or the write-behind queue.
+     * With {@code ledger.mode=event-sourced} the chunks are handed to the {@link EventSourcedLedger} instead,
+     * which must see every transaction to keep its balances.
+     *
+     * @param items the transactions, at most {@code ledger.batch.max-items}.
+     * @return one result per item, in request order.
+     */
+    @Override
+    public List<BatchTransactionResultDTO> createTransactions(List<BatchTransactionItemDTO> items) {
+        return createTransactions(items, null, null);
+    }
+
+    /**
+     * Processes a chunk of an import like {@link #createTransactions(List)}, booking each item on its
+     * {@code event_date} when it has one.
+     * <p>
+     * Dated items are rejected as invalid when they fall on or before the latest balance snapshot: those
+     * days are closed, and moving their snapshots would change balances that were already reported.
+     */
+    @Override
+    public List<BatchTransactionResultDTO> importTransactions(List<ImportTransactionItemDTO> items) {
+        List<BatchTransactionItemDTO> batchItems = new ArrayList<>(items.size());
+        List<LocalDateTime> eventDates = new ArrayList<>(items.size());
+        boolean dated = false;
+        for (ImportTransactionItemDTO item : items) {
+            batchItems.add(item.item());
+            eventDates.add(item.eventDate());
+            dated |= item.eventDate() != null;
+        }
+        LocalDate closedThrough = dated ? balanceSnapshotRepository.findLatestSnapshotDate().orElse(null) : null;
+        return createTransactions(batchItems, eventDates, closedThrough);
+    }
+
+    /**
+     * @param eventDates    the event date of each item, or null to book all of them now.
+     * @param closedThrough the latest snapshotted day; items dated on or before it are rejected.
+     */
+    private List<BatchTransactionResultDTO> createTransactions(List<BatchTransactionItemDTO> items,
+                                                               List<LocalDateTime> eventDates,
+                                                               LocalDate closedThrough) {
+        LedgerProperties.Batch batch = ledgerProperties.getBatch();
+        if (items.size() > batch.getMaxItems()) {
+            throw new IllegalArgumentException("A batch may contain at most " + batch.getMaxItems() + " transactions");
+        }
+        log.info("create batch of {} transactions", items.size());
+
+        List<String> keys = new ArrayList<>(items.size());
+        items.forEach(item -> keys.add(item.idempotencyKey()));
+        Map<String, TransactionResponseDTO> existing = idempotencyRegistry.findAll(keys);
+
+        BatchTransactionResultDTO[] results = new BatchTransactionResultDTO[items.size()];
+        PendingTransaction[] pendingByItem = new PendingTransaction[items.size()];
+        boolean[] repeated = new boolean[items.size()];
+        Map<String, PendingTransaction> pendingByKey = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            BatchTransactionItemDTO item = items.get(i);
+            String key = item.idempotencyKey();
+            TransactionResponseDTO stored = existing.get(key);
+            if (stored != null) {
+                results[i] = BatchTransactionResultDTO.replayed(key, stored);
+                continue;
+            }
+            PendingTransaction first = pendingByKey.get(key);
+            if (first != null) {
+                pendingByItem[i] = first;
+                repeated[i] = true;
+                continue;
+            }
+            OperationTypeDefinition type = operationTypeRegistry.get(item.operationTypeId());
+            if (type == null) {
+                results[i] = BatchTransactionResultDTO.failed(key, Status.INVALID, "Invalid Operation Type ID");
+                continue;
+            }
+            LocalDateTime eventDate = eventDates != null ? eventDates.get(i) : null;
+            if (eventDate != null && closedThrough != null && !eventDate.toLocalDate().isAfter(closedThrough)) {
+                results[i] = BatchTransactionResultDTO.failed(key, Status.INVALID,
+                        "Event date must be after the latest balance snapshot (" + closedThrough + ")");
+                continue;
+            }
+            try {
+                Money amount = Money.of(item.amount(), ledgerProperties.getCurrency());
+                PendingTransaction pending = new PendingTransaction(item.accountId(), type.id(),
+                        type.signMultiplier(), amount, key,
+                        eventDate != null ? eventDate : LocalDateTime.now(), new CompletableFuture<>());
+                pendingByKey.put(key, pending);
+                pendingByItem[i] = pending;
+            } catch (IllegalArgumentException | ArithmeticException e) {
+                results[i] = BatchTransactionResultDTO.failed(key, Status.INVALID, e.getMessage());
+            }
+        }
+
+        List<PendingTransaction> pending = new ArrayList<>(pendingByKey.values());
+        for (int from = 0; from < pending.size(); from += batch.getChunkSize()) {
+            List<PendingTransaction> chunk = pending.subList(from, Math.min(from + batch.getChunkSize(), pending.size()));
+            if (eventSourcedLedger != null) {
+                eventSourcedLedger.appendAll(chunk);
+            } else {
+                batchProcessor.process(chunk);
+            }
+        }
+
+        for (int i = 0; i < items.size(); i++) {
+            if (results[i] == null) {
+                results[i] = toResult(pendingByItem[i], repeated[i]);
+            }
+        }
+        return List.of(results);
+    }
+
+    private BatchTransactionResultDTO toResult(PendingTransaction pending, boolean repeated) {
+        String key = pending.idempotencyKey();
+        CompletableFuture<TransactionResponseDTO> result = pending.result();
+        if (result.state() == Future.State.SUCCESS) {
+            if (repeated) {
+                return BatchTransactionResultDTO.replayed(key, result.resultNow());
+            }
+            idempotencyRegistry.record(key, result.resultNow());
+            return BatchTransactionResultDTO.created(key, result.resultNow());
+        }
+        Throwable failure = result.state() == Future.State.FAILED
+                ? result.exceptionNow()
+                : new IllegalStateException("Transaction was not processed");
+        if (failure instanceof DataIntegrityViolationException) {
+            // Committed concurrently by another request: replay it like a single request would.
+            Optional<TransactionResponseDTO> committed = idempotencyRegistry.findInDatabase(key);
+            if (committed.isPresent()) {
+                return BatchTransactionResultDTO.replayed(key, committed.get());
+            }
+        }
+        Status status = switch (failure) {
+            case EntityNotFoundException e -> Status.NOT_FOUND;
+            case IllegalArgumentException e -> Status.DECLINED;
+            case TransactionDeclinedException e -> Status.DECLINED;
+            default -> Status.FAILED;
+        };
+        if (status == Status.FAILED) {
+            log.error("FAILED to create transaction. Account: {} :: error {}", pending.accountId(), failure.getMessage());
+        }
+        return BatchTransactionResultDTO.failed(key, status, failure.getMessage());
+    }
+
+    /**
+     * Applies the transaction in the calling database transaction. {@code amount} is only set with
+     * {@code ledger.minor-units}; otherwise the requested amount is used as a {@code BigDecimal}.
+     */
+    private TransactionResult applyTransaction(TransactionRequestDTO request, OperationTypeDefinition type, Money amount,
+                                               String idempotencyKey, StageTimings timings) {
+        if (ledgerProperties.getBalanceUpdate() == BalanceUpdateStrategy.ATOMIC) {
+            return applyAtomically(request, type, amount, idempotencyKey, timings);
+        }
+        Account account = accountRepository.findById(request.accountId())
+                .orElseThrow(() -> {
+                    log.error("Transaction failed: Account ID {} does not exists", request.accountId());
+                    return new EntityNotFoundException("Account not found");
+                });
+        timings.lap(TransactionStage.ACCOUNT_LOAD);
+
+        BigDecimal finalAmount;
+        if (amount != null) {
+            Money currentBalance = Money.of(account.getBalance(), amount.currency());
+            if (type.isDebit() && currentBalance.plus(creditLimit).isLessThan(amount)) {
+                // Nothing was changed yet, so the surrounding transaction simply commits.
+                return TransactionDecline.LIMIT_EXCEEDED.result();
+            }
+            Money signed = type.isDebit() ? amount.negate() : amount;
+            account.setBalance(currentBalance.plus(signed).toBigDecimal());
+            finalAmount = signed.toBigDecimal();
+        } else {
+            BigDecimal scaled = toCurrencyScale(request.amount());
+            finalAmount = type.isDebit() ? scaled.negate() : scaled;
+            BigDecimal newBalance = account.getBalance().add(finalAmount);
+            if (type.isDebit() && newBalance.add(Account.CREDIT_LIMIT).signum() < 0) {
+                return TransactionDecline.LIMIT_EXCEEDED.result();
+            }
+            account.setBalance(newBalance);
+        }
+        timings.lap(TransactionStage.LIMIT_CHECK);
+        Transaction savedTransaction = saveTransaction(account, type, finalAmount, idempotencyKey);
+        timings.lap(TransactionStage.INSERT);
+        accountRepository.save(account);
+        // The native update flushes the versioned account update first, so the account row is locked by then.
+        adjustSnapshots(savedTransaction);
+        timings.lap(TransactionStage.ACCOUNT_UPDATE);
+        return new TransactionResult.Accepted(toResponse(savedTransaction));
+    }
+
+    /**
+     * Applies the balance change with a single conditional UPDATE, so the limit check and the write
+     * happen atomically in the database. No row updated means the account is missing or the debit
+     * would exceed the limit; the account is only looked up to tell those two apart. A decline has
+     * written nothing and is returned, so the transaction commits instead of rolling back. With minor
+     * units the UPDATE binds the long amount, so only the stored row needs a {@code BigDecimal}.
+     */
+    private TransactionResult applyAtomically(TransactionRequestDTO request, OperationTypeDefinition type, Money amount,
+                                              String idempotencyKey, StageTimings timings) {
+        BigDecimal finalAmount;
+        int updatedRows;
+        if (amount != null) {
+            updatedRows = type.isDebit()
+                    ? accountRepository.debitMinorUnits(request.accountId(), amount.minorUnits(), minorUnit,
+                    Account.CREDIT_LIMIT)
+                    : accountRepository.creditMinorUnits(request.accountId(), amount.minorUnits(), minorUnit);
+            finalAmount = null;
+        } else {
+            BigDecimal scaled = toCurrencyScale(request.amount());
+            finalAmount = type.isDebit() ? scaled.negate() : scaled;
+            updatedRows = type.isDebit()
+                    ? accountRepository.debit(request.accountId(), scaled, Account.CREDIT_LIMIT)
+                    : accountRepository.credit(request.accountId(), scaled);
+        }
+        timings.lap(TransactionStage.ACCOUNT_UPDATE);
+        if (updatedRows == 0) {
+            boolean exists = accountRepository.existsById(request.accountId());
+            timings.lap(TransactionStage.ACCOUNT_LOAD);
+            if (!exists) {
+                log.error("Transaction failed: Account ID {} does not exists", request.accountId());
+                throw new EntityNotFoundException("Account not found");
+            }
+            return TransactionDecline.LIMIT_EXCEEDED.result();
+        }
+
+        if (finalAmount == null) {
+            finalAmount = (type.isDebit() ? amount.negate() : amount).toBigDecimal();
+        }
+        Account account = accountRepository.getReferenceById(request.accountId());
+        Transaction savedTransaction = saveTransaction(account, type, finalAmount, idempotencyKey);
+        adjustSnapshots(savedTransaction);
+        timings.lap(TransactionStage.INSERT);
+        return new TransactionResult.Accepted(toResponse(savedTransaction));
+    }
+
+    /**
+     * Rounds half-up to the currency's scale, as the decimal columns would, so the balance moves by exactly
+     * the stored amount and responses carry the same scale as replays read from the column. Returns
+     * {@code amount} itself when it already has that scale.
+     */
+    private BigDecimal toCurrencyScale(BigDecimal amount) {
+        return amount.setScale(scale, RoundingMode.HALF_UP);
+    }
+
+    private Transaction saveTransaction(Account account, OperationTypeDefinition type, BigDecimal finalAmount, String idempotencyKey) {
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        transaction.setOperationTypeId(type.id());
+        transaction.setAmount(finalAmount);
+        transaction.setEventDate(LocalDateTime.now());
+        transaction.setIdempotencyKey(idempotencyKey);
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        log.debug("Transaction saved successfully with ID: {}", savedTransaction.getId());
+        return savedTransaction;
+    }
+
+    /**
+     * Keeps the daily balance snapshots in step; only matches rows when a snapshot of the
+     * transaction's day was taken while it was in flight (around midnight).
+     */
+    private void adjustSnapshots(Transaction transaction) {
+        balanceSnapshotRepository.applyDelta(transaction.getAccount().getId(),
+                transaction.getEventDate().toLocalDate(), transaction.getAmount());
+    }
+
+    private static TransactionResponseDTO toResponse(Transaction transaction) {
+        return new TransactionResponseDTO(
+                transaction.getId(),
+                transaction.getAccount().getId(),
+                transaction.getOperationTypeId(),
+                transaction.getAmount(),
+                transaction.getEventDate()
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.pismo.demo.snapshot;
+
+import com.pismo.demo.config.LedgerProperties;
+import com.pismo.demo.repository.BalanceSnapshotRepository;
+import com.pismo.demo.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes the daily balance snapshots of closed days.
+ * <p>
+ * Each run continues from the latest snapshot date and, for every past day with transactions, stores
+ * the closing balance of each account that had activity that day. Today is never snapshotted. The
+ * account rows of a chunk are locked while its snapshots are computed and inserted; writers update
+ * (or, in the event-sourced ledger, lock) the account row before adjusting snapshots, so a transaction
+ * either commits before its account is snapshotted or sees the new snapshot and adjusts it. Accounts
+ * already snapshotted for a day are skipped, so an interrupted run simply resumes.
+ */
+@Component
+public class BalanceSnapshotCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotCompactor.class);
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1, 1, 1, 0, 0);
+
+    private static final String LOCK_ACCOUNTS_SQL = "SELECT id FROM account WHERE id IN (:ids) ORDER BY id FOR UPDATE";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO balance_snapshot (account_id, snapshot_date, balance) VALUES (:accountId, :day, :balance)";
+
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final TransactionRepository transactionRepository;
+    private final HistoricalBalances historicalBalances;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    // Not synchronized: with virtual threads a monitor held across JDBC calls would pin the carrier.
+    private final ReentrantLock compactionLock = new ReentrantLock();
+    private volatile Compaction lastCompaction;
+
+    public BalanceSnapshotCompactor(BalanceSnapshotRepository balanceSnapshotRepository,
+                                    TransactionRepository transactionRepository,
+                                    HistoricalBalances historicalBalances,
+                                    NamedParameterJdbcTemplate namedJdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    LedgerProperties properties) {
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.transactionRepository = transactionRepository;
+        this.historicalBalances = historicalBalances;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = properties.getSnapshots().getChunkSize();
+    }
+
+    @Scheduled(cron = "${ledger.snapshots.cron:0 15 0 * * *}")
+    public void compactScheduled() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            log.error("FAILED to compact balance snapshots :: error {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Snapshots every closed day since the latest snapshot.
+     */
+    public Compaction compact() {
+        compactionLock.lock();
+        try {
+            return compactClosedDays();
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    private Compaction compactClosedDays() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long started = System.nanoTime();
+        LocalDate today = startedAt.toLocalDate();
+
+        LocalDateTime from = balanceSnapshotRepository.findLatestSnapshotDate()
+                .map(LocalDate::atStartOfDay)
+                .orElse(EARLIEST);
+        int days = 0;
+        long snapshots = 0;
+        LocalDate through = null;
+        Optional<LocalDateTime> next = transactionRepository.findEarliestEventDate(from);
+        while (next.isPresent() && next.get().toLocalDate().isBefore(today)) {
+            LocalDate day = next.get().toLocalDate();
+            snapshots += compactDay(day);
+            days++;
+            through = day;
+            next = transactionRepository.findEarliestEventDate(day.plusDays(1).atStartOfDay());
+        }
+
+        Compaction compaction = new Compaction(startedAt, through, days, snapshots,
+                (System.nanoTime() - started) / 1_000_000);
+        lastCompaction = compaction;
+        log.info("Compacted {} days into {} balance snapshots in {} ms", days, snapshots, compaction.durationMs());
+        return compaction;
+    }
+
+    public Compaction getLastCompaction() {
+        return lastCompaction;
+    }
+
+    private long compactDay(LocalDate day) {
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+        List<Long> accountIds = transactionRepository.findAccountIdsWithTransactions(day.atStartOfDay(), end);
+        long written = 0;
+        for (int i = 0; i < accountIds.size(); i += chunkSize) {
+            List<Long> chunk = accountIds.subList(i, Math.min(i + chunkSize, accountIds.size()));
+            written += transactionTemplate.execute(status -> snapshotChunk(day, end, chunk));
+        }
+        return written;
+    }
+
+    private int snapshotChunk(LocalDate day, LocalDateTime end, List<Long> accountIds) {
+        namedJdbcTemplate.queryForList(LOCK_ACCOUNTS_SQL, new MapSqlParameterSource("ids", accountIds), Long.class);
+        Set<Long> done = new HashSet<>(balanceSnapshotRepository.findAccountIdsWithSnapshot(day, accountIds));
+
+        List<SqlParameterSource> rows = new ArrayList<>(accountIds.size());
+        for (Long accountId : accountIds) {
+            if (!done.contains(accountId)) {
+                rows.add(new MapSqlParameterSource()
+                        .addValue("accountId", accountId)
+                        .addValue("day", day)
+                        .addValue("balance", historicalBalances.balanceAt(accountId, end)));
+            }
+        }
+        namedJdbcTemplate.batchUpdate(INSERT_SQL, rows.toArray(SqlParameterSource[]::new));
+        return rows.size();
+    }
+
+    /**
+     * Outcome of a compaction run; {@code through} is the last day snapshotted, if any.
+     */
+    public record Compaction(LocalDateTime startedAt, LocalDate through, int days, long snapshots, long durationMs) {}
+}
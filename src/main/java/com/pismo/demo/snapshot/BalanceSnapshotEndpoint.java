@@ -0,0 +1,40 @@
+package com.pismo.demo.snapshot;
+
+import com.pismo.demo.repository.BalanceSnapshotRepository;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shows the snapshot state at {@code /actuator/balancesnapshots}; a POST runs a compaction now.
+ */
+@Component
+@Endpoint(id = "balancesnapshots")
+public class BalanceSnapshotEndpoint {
+
+    private final BalanceSnapshotCompactor compactor;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+
+    public BalanceSnapshotEndpoint(BalanceSnapshotCompactor compactor,
+                                   BalanceSnapshotRepository balanceSnapshotRepository) {
+        this.compactor = compactor;
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+    }
+
+    @ReadOperation
+    public Map<String, Object> snapshots() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("latestSnapshotDate", balanceSnapshotRepository.findLatestSnapshotDate().orElse(null));
+        state.put("lastCompaction", compactor.getLastCompaction());
+        return state;
+    }
+
+    @WriteOperation
+    public BalanceSnapshotCompactor.Compaction compact() {
+        return compactor.compact();
+    }
+}
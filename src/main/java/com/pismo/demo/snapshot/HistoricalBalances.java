@@ -0,0 +1,42 @@
+package com.pismo.demo.snapshot;
+
+import com.pismo.demo.entity.BalanceSnapshot;
+import com.pismo.demo.repository.BalanceSnapshotRepository;
+import com.pismo.demo.repository.TransactionRepository;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Balance of an account at a point in time, as the latest daily snapshot before that day plus the
+ * transactions since. The cost is bounded by the transactions after the snapshot (normally those of
+ * a single day) instead of growing with the account's history.
+ */
+@Component
+public class HistoricalBalances {
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1, 1, 1, 0, 0);
+
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final TransactionRepository transactionRepository;
+
+    public HistoricalBalances(BalanceSnapshotRepository balanceSnapshotRepository,
+                              TransactionRepository transactionRepository) {
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    /**
+     * Returns the balance including every transaction dated before {@code at}; zero for an account
+     * without transactions.
+     */
+    public BigDecimal balanceAt(Long accountId, LocalDateTime at) {
+        Optional<BalanceSnapshot> snapshot = balanceSnapshotRepository
+                .findFirstByAccountIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(accountId, at.toLocalDate());
+        BigDecimal base = snapshot.map(BalanceSnapshot::getBalance).orElse(BigDecimal.ZERO);
+        LocalDateTime from = snapshot.map(s -> s.getSnapshotDate().plusDays(1).atStartOfDay()).orElse(EARLIEST);
+        return base.add(transactionRepository.sumAmounts(accountId, from, at));
+    }
+}
@@ -1,4 +1,5 @@
 INSERT INTO operation_type (operation_type_id, description, sign_multiplier) VALUES (1, 'Normal Purchase', -1);
 INSERT INTO operation_type (operation_type_id, description, sign_multiplier) VALUES (2, 'Purchase with installments', -1);
 INSERT INTO operation_type (operation_type_id, description, sign_multiplier) VALUES (3, 'Withdrawal', -1);
-INSERT INTO operation_type (operation_type_id, description, sign_multiplier) VALUES (4, 'Credit Voucher', 1);
\ No newline at end of file
+INSERT INTO operation_type (operation_type_id, description, sign_multiplier) VALUES (4, 'Credit Voucher', 1);
+INSERT INTO ledger_checkpoint (id, last_log_seq, created_on) VALUES (1, 0, CURRENT_TIMESTAMP);
@@ -0,0 +1,49 @@
+-- Schema as of the switch from Hibernate ddl-auto to Flyway, with the operation types formerly in data.sql.
+
+CREATE SEQUENCE account_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE transaction_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE account (
+    id              BIGINT        NOT NULL,
+    document_number VARCHAR(255)  NOT NULL,
+    balance         NUMERIC(38,2) NOT NULL,
+    version         BIGINT        NOT NULL,
+    created_on      TIMESTAMP(6),
+    updated_on      TIMESTAMP(6),
+    CONSTRAINT pk_account PRIMARY KEY (id),
+    CONSTRAINT uk_account_document_number UNIQUE (document_number)
+);
+
+CREATE TABLE operation_type (
+    operation_type_id BIGINT       NOT NULL,
+    description       VARCHAR(255) NOT NULL,
+    sign_multiplier   INTEGER      NOT NULL,
+    CONSTRAINT pk_operation_type PRIMARY KEY (operation_type_id)
+);
+
+CREATE TABLE transaction (
+    id                BIGINT        NOT NULL,
+    account_id        BIGINT        NOT NULL,
+    operation_type_id INTEGER       NOT NULL,
+    amount            NUMERIC(38,2) NOT NULL,
+    event_date        TIMESTAMP(6)  NOT NULL,
+    idempotency_key   VARCHAR(255)  NOT NULL,
+    CONSTRAINT pk_transaction PRIMARY KEY (id),
+    CONSTRAINT uk_transaction_idempotency_key UNIQUE (idempotency_key),
+    CONSTRAINT fk_transaction_account FOREIGN KEY (account_id) REFERENCES account (id)
+);
+
+CREATE INDEX idx_transaction_account_event_date ON transaction (account_id, event_date, id);
+CREATE INDEX idx_transaction_event_date ON transaction (event_date, id);
+
+CREATE TABLE balance_snapshot (
+    account_id    BIGINT        NOT NULL,
+    snapshot_date DATE          NOT NULL,
+    balance       NUMERIC(38,2) NOT NULL,
+    CONSTRAINT pk_balance_snapshot PRIMARY KEY (snapshot_date, account_id)
+);
+
+INSERT INTO operation_type (operation_type_id, description, sign_multiplier) VALUES (1, 'Normal Purchase', -1);
+INSERT INTO operation_type (operation_type_id, description, sign_multiplier) VALUES (2, 'Purchase with installments', -1);
+INSERT INTO operation_type (operation_type_id, description, sign_multiplier) VALUES (3, 'Withdrawal', -1);
+INSERT INTO operation_type (operation_type_id, description, sign_multiplier) VALUES (4, 'Credit Voucher', 1);
@@ -0,0 +1,16 @@
+-- Log position and balance checkpoint of ledger.mode=event-sourced. The writer numbers its appends in
+-- transaction.log_seq (transaction ids come from a pooled sequence and need not follow append order); other
+-- ledger modes leave it null. The single ledger_checkpoint row holds the log_seq of the last append included in
+-- account.balance; recovery replays only the appends after it.
+
+ALTER TABLE transaction ADD COLUMN log_seq BIGINT;
+ALTER TABLE transaction ADD CONSTRAINT uk_transaction_log_seq UNIQUE (log_seq);
+
+CREATE TABLE ledger_checkpoint (
+    id           INTEGER      NOT NULL,
+    last_log_seq BIGINT       NOT NULL,
+    created_on   TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_ledger_checkpoint PRIMARY KEY (id)
+);
+
+INSERT INTO ledger_checkpoint (id, last_log_seq, created_on) VALUES (1, 0, CURRENT_TIMESTAMP);
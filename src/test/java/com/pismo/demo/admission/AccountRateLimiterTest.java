@@ -0,0 +1,56 @@
+package com.pismo.demo.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    @DisplayName("Admits the burst at once, then one request per emission interval")
+    void tryAcquire_BurstThenRate() {
+        AccountRateLimiter limiter = new AccountRateLimiter(10, 5, 100, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Duration.ZERO, limiter.tryAcquire(1L));
+        }
+        Duration wait = limiter.tryAcquire(1L);
+        assertEquals(Duration.ofMillis(100), wait);
+
+        clock.addAndGet(wait.toNanos());
+        assertEquals(Duration.ZERO, limiter.tryAcquire(1L));
+        assertFalse(limiter.tryAcquire(1L).isZero());
+    }
+
+    @Test
+    @DisplayName("Accounts have independent buckets")
+    void tryAcquire_PerAccount() {
+        AccountRateLimiter limiter = new AccountRateLimiter(1, 1, 100, clock::get);
+
+        assertEquals(Duration.ZERO, limiter.tryAcquire(1L));
+        assertFalse(limiter.tryAcquire(1L).isZero());
+        assertEquals(Duration.ZERO, limiter.tryAcquire(2L));
+    }
+
+    @Test
+    @DisplayName("Refilled buckets are dropped once the tracked accounts reach the bound")
+    void tryAcquire_SweepsIdleAccounts() {
+        AccountRateLimiter limiter = new AccountRateLimiter(10, 1, 16, clock::get);
+        for (long accountId = 0; accountId < 1_000; accountId++) {
+            limiter.tryAcquire(accountId);
+        }
+        assertTrue(limiter.getTrackedAccounts() <= 16);
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        for (long accountId = 1_000; accountId < 2_000; accountId++) {
+            assertEquals(Duration.ZERO, limiter.tryAcquire(accountId));
+        }
+        assertTrue(limiter.getTrackedAccounts() <= 16);
+    }
+}
@@ -0,0 +1,59 @@
+package com.pismo.demo.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    @DisplayName("Refuses once the limit is in flight and admits again after a release")
+    void tryAcquire_BoundedByLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 2, Duration.ofMillis(100), 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(FAST, false);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Limit grows while fast and used, and shrinks multiplicatively on slow or dropped work")
+    void release_AdjustsLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20, Duration.ofMillis(100), 0.5);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        limiter.release(FAST, false);
+        assertEquals(11, limiter.getLimit());
+
+        limiter.release(SLOW, false);
+        assertEquals(5, limiter.getLimit());
+
+        limiter.release(FAST, true);
+        assertEquals(2, limiter.getLimit());
+
+        limiter.release(FAST, true);
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Limit does not grow while most of it is unused")
+    void release_NoGrowthWhenIdle() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20, Duration.ofMillis(100), 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(FAST, false);
+
+        assertEquals(10, limiter.getLimit());
+    }
+}
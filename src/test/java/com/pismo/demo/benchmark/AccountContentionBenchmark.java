@@ -0,0 +1,63 @@
+package com.pismo.demo.benchmark;
+
+import com.pismo.demo.dto.TransactionRequestDTO;
+import com.pismo.demo.dto.TransactionResponseDTO;
+import com.pismo.demo.service.AccountService;
+import com.pismo.demo.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Several threads posting credits to one account through the transaction service and H2, for each
+ * ledger mode and balance update strategy. Requests that give up on an optimistic-locking conflict
+ * are counted like any other completed call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class AccountContentionBenchmark {
+
+    @Param({"DIRECT", "SHARDED", "WRITE_BEHIND", "EVENT_SOURCED"})
+    public String ledgerMode;
+
+    @Param({"ATOMIC", "OPTIMISTIC"})
+    public String balanceUpdate;
+
+    private final AtomicLong keys = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private TransactionRequestDTO credit;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApplication.start(WebApplicationType.NONE,
+                "ledger.mode=" + ledgerMode, "ledger.balance-update=" + balanceUpdate);
+        transactionService = context.getBean(TransactionService.class);
+        Long accountId = context.getBean(AccountService.class).createAccount("1234567890").accountId();
+        credit = new TransactionRequestDTO(accountId, 4, new BigDecimal("1.00"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionResponseDTO creditHotAccount() {
+        try {
+            return transactionService.createTransaction(credit, "key-" + keys.incrementAndGet());
+        } catch (OptimisticLockingFailureException e) {
+            return null;
+        }
+    }
+}
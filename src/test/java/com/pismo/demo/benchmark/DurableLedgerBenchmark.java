@@ -0,0 +1,88 @@
+package com.pismo.demo.benchmark;
+
+import com.pismo.demo.dto.TransactionRequestDTO;
+import com.pismo.demo.dto.TransactionResponseDTO;
+import com.pismo.demo.service.AccountService;
+import com.pismo.demo.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sustained load on the prod profile: the file-based H2 database with its tuned pool, committed data
+ * fsynced every {@code persistence.sync-interval}. Each thread credits its own account, so the score
+ * reflects the cost of durable commits rather than row contention. Measurement iterations are long
+ * enough that checkpoints and syncs run many times inside each of them.
+ * <p>
+ * Commits are acknowledged before their fsync, so the scores are for group commit with a loss window of
+ * one sync interval on power failure (100ms in the shipped profile), not for an fsync per commit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 30)
+@Fork(1)
+@Threads(16)
+public class DurableLedgerBenchmark {
+
+    private static final int ACCOUNTS = 16;
+
+    @Param({"10ms", "100ms", "1s"})
+    public String syncInterval;
+
+    @Param({"DIRECT", "WRITE_BEHIND", "EVENT_SOURCED"})
+    public String ledgerMode;
+
+    private final AtomicLong keys = new AtomicLong();
+    private final AtomicLong threads = new AtomicLong();
+    private Path dataDir;
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private TransactionRequestDTO[] credits;
+
+    @Setup
+    public void setUp() throws IOException {
+        dataDir = Files.createTempDirectory("ledger-durable");
+        context = EmbeddedApplication.start(WebApplicationType.NONE,
+                "spring.profiles.active=prod", "persistence.dir=" + dataDir,
+                "persistence.sync-interval=" + syncInterval, "ledger.mode=" + ledgerMode);
+        transactionService = context.getBean(TransactionService.class);
+        AccountService accountService = context.getBean(AccountService.class);
+        credits = new TransactionRequestDTO[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Long accountId = accountService.createAccount("durable-" + i).accountId();
+            credits[i] = new TransactionRequestDTO(accountId, 4, new BigDecimal("1.00"));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(dataDir);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadAccount {
+
+        TransactionRequestDTO credit;
+
+        @Setup
+        public void setUp(DurableLedgerBenchmark benchmark) {
+            credit = benchmark.credits[(int) (benchmark.threads.getAndIncrement() % ACCOUNTS)];
+        }
+    }
+
+    @Benchmark
+    public TransactionResponseDTO creditOwnAccount(ThreadAccount account) {
+        return transactionService.createTransaction(account.credit, "key-" + keys.incrementAndGet());
+    }
+}
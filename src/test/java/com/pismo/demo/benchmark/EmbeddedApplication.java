@@ -0,0 +1,32 @@
+package com.pismo.demo.benchmark;
+
+import com.pismo.demo.DemoApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application against its embedded H2 database for the full-stack benchmarks.
+ */
+final class EmbeddedApplication {
+
+    private EmbeddedApplication() {
+    }
+
+    /**
+     * @param properties {@code name=value} pairs; they take precedence over {@code application.properties}.
+     */
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... properties) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> args = new ArrayList<>(List.of("--server.port=0", "--logging.level.root=WARN"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(DemoApplication.class)
+                .web(webApplicationType)
+                .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,111 @@
+package com.pismo.demo.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Requests over HTTP against the running application and its embedded H2 database: JSON, MVC,
+ * validation, the services and JPA together.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FullStackBenchmark {
+
+    private static final Pattern ACCOUNT_ID = Pattern.compile("\"account_id\":(\\d+)");
+    private static final String REPLAYED_KEY = "replayed-key";
+    private static final int BATCH_SIZE = 100;
+
+    private final AtomicLong keys = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String creditJson;
+    private long accountId;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        context = EmbeddedApplication.start(WebApplicationType.SERVLET, "admission.enabled=false");
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        String account = send(post("/accounts", null, "{\"document_number\":\"1234567890\"}"));
+        Matcher matcher = ACCOUNT_ID.matcher(account);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Unexpected account response: " + account);
+        }
+        accountId = Long.parseLong(matcher.group(1));
+        creditJson = "{\"account_id\":" + accountId + ",\"operation_type_id\":4,\"amount\":1.00}";
+        send(post("/transactions", REPLAYED_KEY, creditJson));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String createTransaction_NewKey() throws IOException, InterruptedException {
+        return send(post("/transactions", "key-" + keys.incrementAndGet(), creditJson));
+    }
+
+    @Benchmark
+    public String createTransaction_IdempotencyHit() throws IOException, InterruptedException {
+        return send(post("/transactions", REPLAYED_KEY, creditJson));
+    }
+
+    /**
+     * One request carrying {@value #BATCH_SIZE} new transactions; divide the score by the batch size
+     * to compare with {@link #createTransaction_NewKey()}.
+     */
+    @Benchmark
+    public String createTransactions_Batch() throws IOException, InterruptedException {
+        StringBuilder json = new StringBuilder("{\"transactions\":[");
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"idempotency_key\":\"key-").append(keys.incrementAndGet())
+                    .append("\",").append(creditJson, 1, creditJson.length());
+        }
+        return send(post("/transactions/batch", null, json.append("]}").toString()));
+    }
+
+    @Benchmark
+    public String getAccount() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/accounts/" + accountId)).GET().build());
+    }
+
+    private HttpRequest post(String path, String idempotencyKey, String json) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (idempotencyKey != null) {
+            request.header("key", idempotencyKey);
+        }
+        return request.build();
+    }
+
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,171 @@
+package com.pismo.demo.benchmark;
+
+import com.pismo.demo.dto.TransactionResponseDTO;
+import com.pismo.demo.entity.Account;
+import com.pismo.demo.entity.OperationType;
+import com.pismo.demo.entity.Transaction;
+import com.pismo.demo.repository.AccountRepository;
+import com.pismo.demo.repository.BalanceSnapshotRepository;
+import com.pismo.demo.repository.OperationTypeRepository;
+import com.pismo.demo.repository.TransactionRepository;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+/**
+ * Map-backed stand-ins for the repositories the transaction path uses, so benchmarks can measure
+ * the service code without JPA or a database. Only the methods that path calls are implemented.
+ * <p>
+ * New transactions are counted but not kept here, so long runs do not fill the heap; only transactions
+ * added with {@link #addTransaction} can be found by idempotency key. The service's idempotency
+ * registry does remember new keys; benchmarks that create transactions bound it themselves.
+ */
+class InMemoryLedger {
+
+    private final Map<Long, Account> accounts = new ConcurrentHashMap<>();
+    private final Map<String, Transaction> transactionsByKey = new ConcurrentHashMap<>();
+    private final AtomicLong accountIds = new AtomicLong();
+    private final AtomicLong transactionIds = new AtomicLong();
+
+    static void quietLogging() {
+        Configurator.setRootLevel(Level.WARN);
+    }
+
+    Account addAccount(String documentNumber) {
+        Account account = new Account();
+        account.setId(accountIds.incrementAndGet());
+        account.setDocumentNumber(documentNumber);
+        account.setVersion(0L);
+        accounts.put(account.getId(), account);
+        return account;
+    }
+
+    void addTransaction(Transaction transaction) {
+        transaction.setId(transactionIds.incrementAndGet());
+        transactionsByKey.put(transaction.getIdempotencyKey(), transaction);
+    }
+
+    AccountRepository accountRepository() {
+        return repository(AccountRepository.class, (method, args) -> switch (method.getName()) {
+            case "findById" -> Optional.ofNullable(accounts.get((Long) args[0]));
+            case "getReferenceById" -> accounts.get((Long) args[0]);
+            case "existsById" -> accounts.containsKey((Long) args[0]);
+            case "save" -> args[0];
+            case "debit" -> applyDelta((Long) args[0], ((BigDecimal) args[1]).negate(), (BigDecimal) args[2]);
+            case "credit" -> applyDelta((Long) args[0], (BigDecimal) args[1], BigDecimal.ZERO);
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    TransactionRepository transactionRepository() {
+        return repository(TransactionRepository.class, (method, args) -> switch (method.getName()) {
+            case "save" -> {
+                Transaction transaction = (Transaction) args[0];
+                transaction.setId(transactionIds.incrementAndGet());
+                yield transaction;
+            }
+            case "findResponseByIdempotencyKey" -> Optional.ofNullable(transactionsByKey.get((String) args[0]))
+                    .map(t -> new TransactionResponseDTO(t.getId(), t.getAccount().getId(), t.getOperationTypeId(),
+                            t.getAmount(), t.getEventDate()));
+            case "findByIdempotencyKey" -> Optional.ofNullable(transactionsByKey.get((String) args[0]));
+            case "streamAllIdempotencyKeys" -> Stream.of(transactionsByKey.keySet().toArray(String[]::new));
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    /**
+     * Benchmarked transactions are dated now and never touch a snapshot.
+     */
+    BalanceSnapshotRepository balanceSnapshotRepository() {
+        return repository(BalanceSnapshotRepository.class, (method, args) -> switch (method.getName()) {
+            case "applyDelta" -> 0;
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    OperationTypeRepository operationTypeRepository() {
+        List<OperationType> types = List.of(
+                operationType(1L, "Normal Purchase", -1),
+                operationType(2L, "Purchase with installments", -1),
+                operationType(3L, "Withdrawal", -1),
+                operationType(4L, "Credit Voucher", 1));
+        return repository(OperationTypeRepository.class, (method, args) -> switch (method.getName()) {
+            case "findAll" -> types;
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    /**
+     * Transaction manager that only tracks transaction boundaries, for {@code TransactionTemplate}.
+     */
+    static AbstractPlatformTransactionManager transactionManager() {
+        return new AbstractPlatformTransactionManager() {
+            @Override
+            protected Object doGetTransaction() {
+                return new Object();
+            }
+
+            @Override
+            protected void doBegin(Object transaction, TransactionDefinition definition) {
+            }
+
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+            }
+
+            @Override
+            protected void doRollback(DefaultTransactionStatus status) {
+            }
+        };
+    }
+
+    private int applyDelta(Long accountId, BigDecimal delta, BigDecimal limit) {
+        Account account = accounts.get(accountId);
+        if (account == null) {
+            return 0;
+        }
+        synchronized (account) {
+            BigDecimal balance = account.getBalance().add(delta);
+            if (balance.add(limit).signum() < 0) {
+                return 0;
+            }
+            account.setBalance(balance);
+            return 1;
+        }
+    }
+
+    private static OperationType operationType(Long id, String description, int signMultiplier) {
+        OperationType operationType = new OperationType();
+        operationType.setId(id);
+        operationType.setDescription(description);
+        operationType.setSignMultiplier(signMultiplier);
+        return operationType;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> R repository(Class<R> type, BiFunction<Method, Object[], Object> handler) {
+        return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> type.getSimpleName() + " (in memory)";
+                };
+            }
+            return handler.apply(method, args);
+        });
+    }
+}
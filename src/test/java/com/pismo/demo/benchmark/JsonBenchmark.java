@@ -0,0 +1,52 @@
+package com.pismo.demo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.pismo.demo.dto.TransactionRequestDTO;
+import com.pismo.demo.dto.TransactionResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON reading of {@link TransactionRequestDTO} and writing of {@link TransactionResponseDTO},
+ * with an object mapper configured like the one Spring MVC uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private byte[] requestJson;
+    private TransactionResponseDTO response;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        requestReader = objectMapper.readerFor(TransactionRequestDTO.class);
+        responseWriter = objectMapper.writerFor(TransactionResponseDTO.class);
+        requestJson = "{\"account_id\":1,\"operation_type_id\":4,\"amount\":123.45}".getBytes(StandardCharsets.UTF_8);
+        response = new TransactionResponseDTO(1L, 1L, 4, new BigDecimal("123.45"), LocalDateTime.now());
+    }
+
+    @Benchmark
+    public TransactionRequestDTO readRequest() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,119 @@
+package com.pismo.demo.benchmark;
+
+import com.pismo.demo.cache.AccountCache;
+import com.pismo.demo.config.AccountCacheProperties;
+import com.pismo.demo.config.IdempotencyProperties;
+import com.pismo.demo.config.LedgerProperties;
+import com.pismo.demo.dto.AccountResponseDTO;
+import com.pismo.demo.dto.TransactionRequestDTO;
+import com.pismo.demo.dto.TransactionResponseDTO;
+import com.pismo.demo.entity.Account;
+import com.pismo.demo.entity.Transaction;
+import com.pismo.demo.idempotency.IdempotencyRegistry;
+import com.pismo.demo.ledger.ContentionMetrics;
+import com.pismo.demo.ledger.DirectLedgerExecutor;
+import com.pismo.demo.ledger.EventSourcedLedger;
+import com.pismo.demo.ledger.OptimisticRetryExecutor;
+import com.pismo.demo.ledger.TransactionBatchWriter;
+import com.pismo.demo.metrics.TransactionStageMetrics;
+import com.pismo.demo.operation.OperationTypeRegistry;
+import com.pismo.demo.repository.AccountRepository;
+import com.pismo.demo.repository.TransactionRepository;
+import com.pismo.demo.service.impl.AccountServiceImpl;
+import com.pismo.demo.service.impl.TransactionServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The transaction and account services on their own, wired to {@link InMemoryLedger} repositories:
+ * measures the service code (idempotency registry, operation type lookup, ledger executor,
+ * transaction template, balance math) without JPA or database cost.
+ * <p>
+ * The idempotency registry records every new key in its Bloom filter and LRU cache, so the service is
+ * rebuilt with an empty registry before each iteration: every iteration measures the same structure
+ * sizes instead of ones that keep growing over the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionServiceBenchmark {
+
+    private static final String REPLAYED_KEY = "replayed-key";
+
+    private final AtomicLong keys = new AtomicLong();
+    private InMemoryLedger ledger;
+    private TransactionServiceImpl transactionService;
+    private AccountServiceImpl accountService;
+    private TransactionRequestDTO credit;
+    private long accountId;
+
+    @Setup
+    public void setUp() {
+        InMemoryLedger.quietLogging();
+        ledger = new InMemoryLedger();
+        Account account = ledger.addAccount("1234567890");
+        accountId = account.getId();
+
+        Transaction replayed = new Transaction();
+        replayed.setAccount(account);
+        replayed.setOperationTypeId(4);
+        replayed.setAmount(BigDecimal.ONE);
+        replayed.setEventDate(LocalDateTime.now());
+        replayed.setIdempotencyKey(REPLAYED_KEY);
+        ledger.addTransaction(replayed);
+
+        accountService = new AccountServiceImpl(ledger.accountRepository(),
+                new AccountCache(new AccountCacheProperties()));
+        credit = new TransactionRequestDTO(accountId, 4, new BigDecimal("1.00"));
+    }
+
+    @Setup(Level.Iteration)
+    public void newTransactionService() throws InterruptedException {
+        TransactionRepository transactionRepository = ledger.transactionRepository();
+        AccountRepository accountRepository = ledger.accountRepository();
+        PlatformTransactionManager transactionManager = InMemoryLedger.transactionManager();
+        LedgerProperties ledgerProperties = new LedgerProperties();
+        OperationTypeRegistry operationTypeRegistry = new OperationTypeRegistry(ledger.operationTypeRepository());
+        operationTypeRegistry.refresh();
+        IdempotencyRegistry idempotencyRegistry =
+                new IdempotencyRegistry(transactionRepository, transactionManager, new IdempotencyProperties());
+        idempotencyRegistry.loadFilterInBackground();
+        while (!idempotencyRegistry.isFilterReady()) {
+            Thread.sleep(10);
+        }
+
+        transactionService = new TransactionServiceImpl(transactionRepository, accountRepository,
+                operationTypeRegistry, new DirectLedgerExecutor(),
+                new OptimisticRetryExecutor(ledgerProperties, new ContentionMetrics(ledgerProperties)),
+                new TransactionTemplate(transactionManager), ledgerProperties,
+                new StaticListableBeanFactory().getBeanProvider(TransactionBatchWriter.class),
+                new StaticListableBeanFactory().getBeanProvider(EventSourcedLedger.class), idempotencyRegistry,
+                null, // batch ingestion needs JDBC and is covered by FullStackBenchmark
+                ledger.balanceSnapshotRepository(), new TransactionStageMetrics(operationTypeRegistry));
+    }
+
+    @Benchmark
+    public TransactionResponseDTO createTransaction_NewKey() {
+        return transactionService.createTransaction(credit, "key-" + keys.incrementAndGet());
+    }
+
+    @Benchmark
+    public TransactionResponseDTO createTransaction_IdempotencyHit() {
+        return transactionService.createTransaction(credit, REPLAYED_KEY);
+    }
+
+    @Benchmark
+    public AccountResponseDTO getAccount() {
+        return accountService.getAccount(accountId);
+    }
+}
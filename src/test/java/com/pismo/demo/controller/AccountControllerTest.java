@@ -3,6 +3,7 @@ package com.pismo.demo.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pismo.demo.dto.AccountResponseDTO;
 import com.pismo.demo.dto.CreateAccountRequest;
+import com.pismo.demo.exception.DuplicateAccountException;
 import com.pismo.demo.service.AccountService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.DisplayName;
@@ -100,4 +101,28 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.title").value("Resource Not Found"))
                 .andExpect(jsonPath("$.detail").value("Account not found with ID: 99"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Get Account by Document Number - Success (200 OK)")
+    void getAccountByDocumentNumber_Success() throws Exception {
+        when(accountService.getAccountByDocumentNumber("1234567890"))
+                .thenReturn(new AccountResponseDTO(1L, "1234567890"));
+
+        mockMvc.perform(get("/accounts").param("document_number", "1234567890"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.account_id").value(1));
+    }
+
+    @Test
+    @DisplayName("Create Account - Duplicate Document (409) with Existing Account ID")
+    void createAccount_Duplicate() throws Exception {
+        when(accountService.createAccount("1234567890")).thenThrow(new DuplicateAccountException(1L));
+
+        mockMvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateAccountRequest("1234567890"))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.title").value("Conflict"))
+                .andExpect(jsonPath("$.account_id").value(1));
+    }
+}
@@ -0,0 +1,63 @@
+package com.pismo.demo.controller;
+
+import com.pismo.demo.dto.TransactionHistoryQuery;
+import com.pismo.demo.dto.TransactionPageDTO;
+import com.pismo.demo.dto.TransactionResponseDTO;
+import com.pismo.demo.service.TransactionHistoryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AccountTransactionController.class)
+class AccountTransactionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransactionHistoryService transactionHistoryService;
+
+    @Test
+    @DisplayName("Get Transactions - Success (200 OK) with filters and cursor")
+    void getTransactions_Success() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        TransactionHistoryQuery query = new TransactionHistoryQuery(from, null, 4, "abc", 10);
+        TransactionResponseDTO transaction = new TransactionResponseDTO(5L, 1L, 4, new BigDecimal("10.00"), from.plusDays(1));
+
+        when(transactionHistoryService.getTransactions(1L, query))
+                .thenReturn(new TransactionPageDTO(List.of(transaction), "next"));
+
+        mockMvc.perform(get("/accounts/1/transactions")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("operation_type_id", "4")
+                        .param("cursor", "abc")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[0].transaction_id").value(5))
+                .andExpect(jsonPath("$.next_cursor").value("next"));
+    }
+
+    @Test
+    @DisplayName("Get Transactions - Invalid Limit -> 400 Bad Request")
+    void getTransactions_InvalidLimit() throws Exception {
+        TransactionHistoryQuery query = new TransactionHistoryQuery(null, null, null, null, 1000);
+        when(transactionHistoryService.getTransactions(1L, query))
+                .thenThrow(new IllegalArgumentException("Limit must be between 1 and 500"));
+
+        mockMvc.perform(get("/accounts/1/transactions").param("limit", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Limit must be between 1 and 500"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.pismo.demo.controller;
+
+import com.pismo.demo.config.WebConfig;
+import com.pismo.demo.dto.TransactionExportQuery;
+import com.pismo.demo.exports.ExportFormat;
+import com.pismo.demo.service.ExportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExportController.class)
+@Import(WebConfig.class)
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExportService exportService;
+
+    @Test
+    @DisplayName("Export Transactions - Day of one account, gzip-compressed NDJSON")
+    void exportTransactions_GzipNdjson() throws Exception {
+        TransactionExportQuery query = new TransactionExportQuery(7L,
+                LocalDateTime.of(2024, 1, 10, 0, 0), LocalDateTime.of(2024, 1, 11, 0, 0));
+        when(exportService.exportTransactions(query, ExportFormat.NDJSON))
+                .thenReturn(out -> out.write("{\"transaction_id\":1}\n".getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult started = mockMvc.perform(get("/exports/transactions")
+                        .param("account_id", "7")
+                        .param("date", "2024-01-10")
+                        .param("format", "ndjson")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(Duration.ofMinutes(30).toMillis(), started.getRequest().getAsyncContext().getTimeout());
+
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        byte[] body = result.getResponse().getContentAsByteArray();
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals("{\"transaction_id\":1}\n", new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Export Transactions - Date combined with from/to -> 400 Bad Request")
+    void exportTransactions_ConflictingRange() throws Exception {
+        mockMvc.perform(get("/exports/transactions")
+                        .param("date", "2024-01-10")
+                        .param("from", "2024-01-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Use either date or from/to"));
+
+        verifyNoInteractions(exportService);
+    }
+}
@@ -1,10 +1,20 @@
 package com.pismo.demo.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pismo.demo.admission.TransactionAdmission;
+import com.pismo.demo.dto.BatchTransactionItemDTO;
+import com.pismo.demo.dto.BatchTransactionRequestDTO;
+import com.pismo.demo.dto.BatchTransactionResultDTO;
 import com.pismo.demo.dto.TransactionRequestDTO;
 import com.pismo.demo.dto.TransactionResponseDTO;
+import com.pismo.demo.exception.ServiceOverloadedException;
+import com.pismo.demo.exception.TooManyRequestsException;
+import com.pismo.demo.service.AsyncTransactionService;
+import com.pismo.demo.service.TransactionDecline;
+import com.pismo.demo.service.TransactionResult;
 import com.pismo.demo.service.TransactionService;
 import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,16 +22,25 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TransactionController.class)
 class TransactionControllerTest {
@@ -32,9 +51,21 @@ class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private AsyncTransactionService asyncTransactionService;
+
+    @MockBean
+    private TransactionAdmission admission;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @BeforeEach
+    void admitEverything() {
+        when(admission.admit(anyLong(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<CompletableFuture<?>>>getArgument(1).get());
+    }
+
     @Test
     @DisplayName("Create Transaction - Success (200 OK)")
     void createTransaction_Success() throws Exception {
@@ -50,13 +81,17 @@ class TransactionControllerTest {
                 LocalDateTime.now()
         );
 
-        when(transactionService.createTransaction(any(TransactionRequestDTO.class), eq(idempotencyKey)))
-                .thenReturn(response);
+        when(asyncTransactionService.submitTransaction(any(TransactionRequestDTO.class), eq(idempotencyKey)))
+                .thenReturn(CompletableFuture.completedFuture(new TransactionResult.Accepted(response)));
 
-        mockMvc.perform(post("/transactions")
+        MvcResult result = mockMvc.perform(post("/transactions")
                         .header("key", idempotencyKey)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.transaction_id").value(555))
                 .andExpect(jsonPath("$.account_id").value(1))
@@ -69,13 +104,17 @@ class TransactionControllerTest {
         TransactionRequestDTO request = new TransactionRequestDTO(99L, 1, BigDecimal.TEN);
         String key = "key-404";
 
-        when(transactionService.createTransaction(any(), eq(key)))
-                .thenThrow(new EntityNotFoundException("Account not found"));
+        when(asyncTransactionService.submitTransaction(any(), eq(key)))
+                .thenReturn(CompletableFuture.failedFuture(new EntityNotFoundException("Account not found")));
 
-        mockMvc.perform(post("/transactions")
+        MvcResult result = mockMvc.perform(post("/transactions")
                         .header("key", key)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.title").value("Resource Not Found"))
                 .andExpect(jsonPath("$.detail").value("Account not found"));
@@ -87,18 +126,59 @@ class TransactionControllerTest {
         TransactionRequestDTO request = new TransactionRequestDTO(1L, 99, BigDecimal.TEN);
         String key = "key-400";
 
-        when(transactionService.createTransaction(any(), eq(key)))
-                .thenThrow(new IllegalArgumentException("Invalid Operation Type ID"));
+        when(asyncTransactionService.submitTransaction(any(), eq(key)))
+                .thenReturn(CompletableFuture.completedFuture(TransactionDecline.INVALID_OPERATION_TYPE.result()));
 
-        mockMvc.perform(post("/transactions")
+        MvcResult result = mockMvc.perform(post("/transactions")
                         .header("key", key)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.title").value("Bad Request"))
                 .andExpect(jsonPath("$.detail").value("Invalid Operation Type ID"));
     }
 
+    @Test
+    @DisplayName("Create Transaction - Queue Full -> 503 Service Unavailable With Retry-After")
+    void createTransaction_Overloaded() throws Exception {
+        TransactionRequestDTO request = new TransactionRequestDTO(1L, 4, BigDecimal.TEN);
+        String key = "key-503";
+
+        when(asyncTransactionService.submitTransaction(any(), eq(key)))
+                .thenThrow(new ServiceOverloadedException("The service is overloaded. Please retry later.",
+                        Duration.ofSeconds(2)));
+
+        mockMvc.perform(post("/transactions")
+                        .header("key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.title").value("Service Unavailable"));
+    }
+
+    @Test
+    @DisplayName("Create Transaction - Account Over Its Rate -> 429 Too Many Requests Before Any Work")
+    void createTransaction_RateLimited() throws Exception {
+        TransactionRequestDTO request = new TransactionRequestDTO(1L, 4, BigDecimal.TEN);
+
+        doThrow(new TooManyRequestsException("Too many transactions for this account. Please slow down.",
+                Duration.ofMillis(1_200))).when(admission).admit(eq(1L), any());
+
+        mockMvc.perform(post("/transactions")
+                        .header("key", "key-429")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.title").value("Too Many Requests"));
+        verify(asyncTransactionService, never()).submitTransaction(any(), any());
+    }
+
     @Test
     @DisplayName("Create Transaction - Validation Error (Empty Body) -> 400 Bad Request")
     void createTransaction_ValidationFail() throws Exception {
@@ -109,4 +189,38 @@ class TransactionControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.title").value("Validation Error"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Create Transactions (Batch) - Success (200 OK) -> Result Per Item")
+    void createTransactions_Success() throws Exception {
+        BatchTransactionRequestDTO request = new BatchTransactionRequestDTO(List.of(
+                new BatchTransactionItemDTO("key-1", 1L, 4, BigDecimal.TEN),
+                new BatchTransactionItemDTO("key-2", 99L, 4, BigDecimal.TEN)));
+
+        when(transactionService.createTransactions(request.transactions())).thenReturn(List.of(
+                BatchTransactionResultDTO.created("key-1",
+                        new TransactionResponseDTO(555L, 1L, 4, BigDecimal.TEN, LocalDateTime.now())),
+                BatchTransactionResultDTO.failed("key-2", BatchTransactionResultDTO.Status.NOT_FOUND, "Account not found")));
+
+        mockMvc.perform(post("/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].transaction.transaction_id").value(555))
+                .andExpect(jsonPath("$.results[1].status").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.results[1].error").value("Account not found"))
+                .andExpect(jsonPath("$.results[1].transaction").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Create Transactions (Batch) - Item Without Idempotency Key -> 400 Bad Request")
+    void createTransactions_ValidationFail() throws Exception {
+        String body = "{\"transactions\":[{\"account_id\":1,\"operation_type_id\":4,\"amount\":10}]}";
+
+        mockMvc.perform(post("/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,61 @@
+package com.pismo.demo.exports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pismo.demo.dto.TransactionResponseDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportFormatTest {
+
+    private static final LocalDateTime EVENT_DATE = LocalDateTime.of(2024, 1, 10, 12, 30);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    @DisplayName("CSV export writes a header and one line per transaction")
+    void csv_WritesHeaderAndRows() throws IOException {
+        String output = export(ExportFormat.CSV);
+
+        assertEquals("""
+                transaction_id,account_id,operation_type_id,amount,event_date
+                1,7,1,-50.00,2024-01-10T12:30
+                2,7,4,10.50,2024-01-10T12:30
+                """, output);
+    }
+
+    @Test
+    @DisplayName("NDJSON export writes one JSON object per line")
+    void ndjson_WritesOneObjectPerLine() throws IOException {
+        String[] lines = export(ExportFormat.NDJSON).split("\n", -1);
+
+        assertEquals(3, lines.length);
+        assertEquals(1, objectMapper.readTree(lines[0]).get("transaction_id").asInt());
+        assertTrue(lines[1].startsWith("{\"transaction_id\":2,"), lines[1]);
+        assertEquals("", lines[2]);
+    }
+
+    @Test
+    @DisplayName("Formats are matched case-insensitively and unknown ones are rejected")
+    void from_ParsesFormat() {
+        assertEquals(ExportFormat.NDJSON, ExportFormat.from("ndjson"));
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.from("xml"));
+    }
+
+    private String export(ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TransactionRowWriter writer = format.open(out, objectMapper);
+        writer.write(new TransactionResponseDTO(1L, 7L, 1, new BigDecimal("-50.00"), EVENT_DATE));
+        writer.write(new TransactionResponseDTO(2L, 7L, 4, new BigDecimal("10.50"), EVENT_DATE));
+        writer.finish();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
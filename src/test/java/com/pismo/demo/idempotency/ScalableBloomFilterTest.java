@@ -0,0 +1,48 @@
+package com.pismo.demo.idempotency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    @DisplayName("Added keys are always reported as possibly present")
+    void mightContain_NoFalseNegatives() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 5_000; i++) {
+            filter.put("key-" + i);
+        }
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(filter.mightContain("key-" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("Filter adds layers past its capacity and keeps the false positive rate bounded")
+    void put_GrowsAndBoundsFalsePositives() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("key-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(filter.getLayerCount() > 1);
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Empty filter proves every key new")
+    void mightContain_EmptyFilter() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+
+        assertFalse(filter.mightContain("anything"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.pismo.demo.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pismo.demo.config.ImportProperties;
+import com.pismo.demo.dto.CreateAccountRequest;
+import com.pismo.demo.dto.ImportReportDTO;
+import com.pismo.demo.imports.NdjsonImporter.ChunkResult;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonImporterTest {
+
+    private final List<List<String>> chunks = new ArrayList<>();
+    private NdjsonImporter importer;
+    private ImportTracker importTracker;
+
+    @BeforeEach
+    void setUp() {
+        ImportProperties properties = new ImportProperties();
+        properties.setChunkSize(2);
+        importTracker = new ImportTracker();
+        importer = new NdjsonImporter(new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), properties, importTracker);
+    }
+
+    @Test
+    @DisplayName("Valid lines are written in chunks; invalid lines are reported with their line number")
+    void importLines_ChunksAndReportsErrors() {
+        String ndjson = """
+                {"document_number":"1"}
+                {"document_number":""}
+                {"document_number":"2"}
+
+                {not json
+                {"document_number":"3"}
+                {"document_number":"dup"}
+                """;
+
+        ImportReportDTO report = importer.importLines("accounts", stream(ndjson), 0, Integer.MAX_VALUE,
+                CreateAccountRequest.class, this::recordChunk);
+
+        assertEquals(List.of(List.of("1", "2"), List.of("3", "dup")), chunks);
+        assertEquals(ImportReportDTO.Status.COMPLETED, report.status());
+        assertEquals(7, report.linesRead());
+        assertEquals(3, report.imported());
+        assertEquals(1, report.skipped());
+        assertEquals(2, report.failed());
+        assertEquals(7, report.lastCommittedLine());
+        assertEquals(2, report.errors().get(0).line());
+        assertEquals("Document number is required", report.errors().get(0).error());
+        assertEquals(5, report.errors().get(1).line());
+        assertTrue(report.errors().get(1).error().startsWith("Malformed JSON"));
+        assertEquals(report, importTracker.getImports().get(0));
+    }
+
+    @Test
+    @DisplayName("Lines up to the checkpoint are skipped when resuming")
+    void importLines_ResumesAfterCheckpoint() {
+        String ndjson = """
+                {"document_number":"1"}
+                {"document_number":"2"}
+                {"document_number":"3"}
+                """;
+
+        ImportReportDTO report = importer.importLines("accounts", stream(ndjson), 2, Integer.MAX_VALUE,
+                CreateAccountRequest.class, this::recordChunk);
+
+        assertEquals(List.of(List.of("3")), chunks);
+        assertEquals(1, report.linesRead());
+        assertEquals(3, report.lastCommittedLine());
+    }
+
+    @Test
+    @DisplayName("A failing chunk aborts the import and keeps the last checkpoint")
+    void importLines_AbortKeepsCheckpoint() {
+        String ndjson = """
+                {"document_number":"1"}
+                {"document_number":"2"}
+                {"document_number":"boom"}
+                {"document_number":"4"}
+                """;
+
+        ImportReportDTO report = importer.importLines("accounts", stream(ndjson), 0, Integer.MAX_VALUE,
+                CreateAccountRequest.class, records -> {
+                    if (records.stream().anyMatch(r -> r.documentNumber().equals("boom"))) {
+                        throw new IllegalStateException("database unavailable");
+                    }
+                    return recordChunk(records);
+                });
+
+        assertEquals(ImportReportDTO.Status.ABORTED, report.status());
+        assertEquals("database unavailable", report.abortReason());
+        assertEquals(2, report.imported());
+        assertEquals(2, report.lastCommittedLine());
+    }
+
+    private ChunkResult recordChunk(List<CreateAccountRequest> records) {
+        chunks.add(records.stream().map(CreateAccountRequest::documentNumber).toList());
+        int skipped = (int) records.stream().filter(r -> r.documentNumber().equals("dup")).count();
+        return new ChunkResult(skipped, Map.of());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,104 @@
+package com.pismo.demo.ledger;
+
+import com.pismo.demo.entity.BalanceSnapshot;
+import com.pismo.demo.money.Money;
+import com.pismo.demo.repository.BalanceSnapshotRepository;
+import com.pismo.demo.service.AccountService;
+import com.pismo.demo.snapshot.BalanceSnapshotCompactor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs against the real database: the ordering under test comes from H2 row locks.
+ */
+@SpringBootTest
+class EventLogCompactionTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final LocalDate DAY = LocalDate.now().minusDays(2);
+
+    @Autowired
+    private EventLog eventLog;
+
+    @Autowired
+    private BalanceSnapshotCompactor compactor;
+
+    @Autowired
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("A compaction running during a backdated append waits for it and includes its transaction")
+    void append_BackdatedDuringCompaction_SnapshotIncludesIt() throws Exception {
+        long accountId = accountService.createAccount("event-log-compaction").accountId();
+        transactionTemplate.executeWithoutResult(status ->
+                eventLog.append(List.of(credit(accountId, "10.00", "es-compaction-1")), 1_000_001));
+
+        CountDownLatch appended = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> append = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    eventLog.append(List.of(credit(accountId, "5.00", "es-compaction-2")), 1_000_002);
+                    appended.countDown();
+                    await(commit);
+                }));
+        assertTrue(appended.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture<BalanceSnapshotCompactor.Compaction> compaction = new CompletableFuture<>();
+        Thread compactorThread = new Thread(() -> {
+            try {
+                compaction.complete(compactor.compact());
+            } catch (RuntimeException e) {
+                compaction.completeExceptionally(e);
+            }
+        });
+        compactorThread.start();
+        // Hold the append open until the compaction waits for a lock; without one it would finish first.
+        while (!compaction.isDone() && compactorThread.getState() != Thread.State.TIMED_WAITING
+                && compactorThread.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        commit.countDown();
+        append.get(10, TimeUnit.SECONDS);
+        assertEquals(DAY, compaction.get(10, TimeUnit.SECONDS).through());
+
+        BalanceSnapshot snapshot = balanceSnapshotRepository
+                .findFirstByAccountIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(accountId, DAY.plusDays(1))
+                .orElseThrow();
+        assertEquals(DAY, snapshot.getSnapshotDate());
+        assertEquals(0, new BigDecimal("15.00").compareTo(snapshot.getBalance()));
+    }
+
+    private static PendingTransaction credit(long accountId, String amount, String key) {
+        return new PendingTransaction(accountId, 4, 1, Money.of(new BigDecimal(amount), USD), key,
+                DAY.atTime(12, 0), new CompletableFuture<>());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.pismo.demo.ledger;
+
+import com.pismo.demo.money.Money;
+import com.pismo.demo.repository.AccountRepository;
+import com.pismo.demo.service.AccountService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs against the real database: the log position lives in the schema.
+ */
+@SpringBootTest
+@Transactional
+class EventLogTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final long FIRST_LOG_SEQ = 2_000_001;
+
+    @Autowired
+    private EventLog eventLog;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("The tail after the checkpoint is folded into account balances once, by log position")
+    void foldTail_AddsAppendsAfterCheckpointToAccountBalances() {
+        long accountId = accountService.createAccount("event-log-fold").accountId();
+        eventLog.append(List.of(credit(accountId, "10.00", "es-fold-1"), credit(accountId, "2.50", "es-fold-2")),
+                FIRST_LOG_SEQ);
+        // Committed by the ledger's writer before anything reads the log.
+        entityManager.flush();
+
+        assertTrue(eventLog.foldTail() >= 2);
+        assertEquals(0, eventLog.foldTail());
+
+        entityManager.clear();
+        assertEquals(0, new BigDecimal("12.50").compareTo(accountRepository.findById(accountId).orElseThrow().getBalance()));
+        assertTrue(eventLog.loadCheckpointPosition() >= FIRST_LOG_SEQ + 1);
+    }
+
+    @Test
+    @DisplayName("A log position can only be taken once, so a second writer cannot interleave")
+    void append_RepeatedLogSeq_Fails() {
+        long accountId = accountService.createAccount("event-log-seq").accountId();
+        eventLog.append(List.of(credit(accountId, "1.00", "es-seq-1")), FIRST_LOG_SEQ + 100);
+
+        assertThrows(RuntimeException.class, () -> {
+            eventLog.append(List.of(credit(accountId, "1.00", "es-seq-2")), FIRST_LOG_SEQ + 100);
+            entityManager.flush();
+        });
+    }
+
+    private static PendingTransaction credit(long accountId, String amount, String key) {
+        return new PendingTransaction(accountId, 4, 1, Money.of(new BigDecimal(amount), USD), key,
+                LocalDateTime.now(), new CompletableFuture<>());
+    }
+}
@@ -0,0 +1,151 @@
+package com.pismo.demo.ledger;
+
+import com.pismo.demo.config.LedgerProperties;
+import com.pismo.demo.dto.TransactionResponseDTO;
+import com.pismo.demo.exception.TransactionDeclinedException;
+import com.pismo.demo.money.Money;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EventSourcedLedgerTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    private final EventLog eventLog = mock(EventLog.class);
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+    private EventSourcedLedger ledger;
+    private long nextId = 100;
+
+    @BeforeEach
+    void recoverFromCheckpointAndTail() {
+        // Account 1: 100.00 at the checkpoint, 50.00 appended after it. Account 2 was at zero.
+        when(eventLog.loadCheckpointPosition()).thenReturn(10L);
+        when(eventLog.replayTail(10)).thenReturn(List.of(
+                new EventLog.TailEntry(1L, new BigDecimal("50.00"), 2, 12),
+                new EventLog.TailEntry(2L, new BigDecimal("-20.00"), 1, 11)));
+        when(eventLog.accountBalances(List.of(1L, 2L)))
+                .thenReturn(Map.of(1L, new BigDecimal("100.00"), 2L, new BigDecimal("0.00")));
+        when(eventLog.append(anyList(), anyLong())).thenAnswer(inv -> {
+            long[] ids = new long[inv.<List<?>>getArgument(0).size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = nextId++;
+            }
+            return ids;
+        });
+        ledger = new EventSourcedLedger(eventLog, transactionTemplate, new LedgerProperties());
+    }
+
+    @AfterEach
+    void close() throws InterruptedException {
+        ledger.destroy();
+    }
+
+    @Test
+    @DisplayName("Limits are checked against the checkpoint plus the replayed tail, in batch order")
+    void process_ChecksLimitsAgainstRecoveredBalances() {
+        // 150.00 + 1000.00 limit: the first debit fits, the second no longer does.
+        PendingTransaction first = debit(1L, "1100.00", "k1");
+        PendingTransaction second = debit(1L, "100.00", "k2");
+        PendingTransaction credit = credit(2L, "5.00", "k3");
+
+        ledger.process(List.of(first, second, credit));
+
+        TransactionResponseDTO appended = first.result().resultNow();
+        assertEquals(100L, appended.transactionId());
+        assertEquals(new BigDecimal("-1100.00"), appended.amount());
+        assertInstanceOf(TransactionDeclinedException.class, second.result().exceptionNow());
+        assertEquals(101L, credit.result().resultNow().transactionId());
+        // Numbered after the last replayed log position, whatever the transaction ids.
+        verify(eventLog).append(List.of(first, credit), 13L);
+        verify(eventLog, times(1)).accountBalances(any());
+    }
+
+    @Test
+    @DisplayName("Accounts outside the tail join with their checkpointed balance; unknown accounts are not found")
+    void process_LoadsNewAccounts() {
+        when(eventLog.accountBalances(Set.of(3L, 4L))).thenReturn(Map.of(3L, new BigDecimal("50.00")));
+        PendingTransaction newAccount = debit(3L, "1050.00", "k1");
+        PendingTransaction missing = credit(4L, "1.00", "k2");
+
+        ledger.process(List.of(newAccount, missing));
+
+        assertTrue(newAccount.result().isDone() && !newAccount.result().isCompletedExceptionally());
+        assertInstanceOf(EntityNotFoundException.class, missing.result().exceptionNow());
+        verify(eventLog).append(List.of(newAccount), 13L);
+    }
+
+    @Test
+    @DisplayName("Items whose caller gave up are not appended")
+    void process_SkipsCancelledItems() {
+        PendingTransaction abandoned = credit(1L, "10.00", "k1");
+        PendingTransaction live = credit(1L, "5.00", "k2");
+        abandoned.result().cancel(false);
+
+        ledger.process(List.of(abandoned, live));
+
+        verify(eventLog).append(List.of(live), 13L);
+        assertEquals(100L, live.result().resultNow().transactionId());
+    }
+
+    @Test
+    @DisplayName("A failed append leaves the in-memory balances untouched and retries items one by one")
+    void process_FailedAppendDoesNotMoveBalances() {
+        PendingTransaction duplicate = debit(1L, "1000.00", "dup");
+        PendingTransaction other = debit(1L, "150.00", "k2");
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .when(eventLog).append(argThat(items -> items.contains(duplicate)), anyLong());
+
+        ledger.process(List.of(duplicate, other));
+
+        assertInstanceOf(DataIntegrityViolationException.class, duplicate.result().exceptionNow());
+        assertTrue(other.result().isDone() && !other.result().isCompletedExceptionally());
+        // The failed append did not use up its log positions.
+        verify(eventLog).append(List.of(other), 13L);
+        // 150.00 - 150.00: the failed 1000.00 debit was never applied, so the full limit remains.
+        PendingTransaction atLimit = debit(1L, "1000.00", "k3");
+        ledger.process(List.of(atLimit));
+        assertTrue(atLimit.result().isDone() && !atLimit.result().isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("A checkpoint stores the changed balances at the position of the last append")
+    void checkpoint_StoresChangedBalances() {
+        PendingTransaction credit = credit(1L, "25.00", "k1");
+        ledger.process(List.of(credit));
+
+        ledger.checkpoint();
+        ledger.checkpoint();
+
+        verify(eventLog).saveCheckpoint(13L,
+                Map.of(1L, new BigDecimal("175.00"), 2L, new BigDecimal("-20.00")), 1_000);
+        verifyNoMoreInteractions(ignoreStubs(eventLog));
+    }
+
+    private static PendingTransaction debit(long accountId, String amount, String key) {
+        return pending(accountId, -1, amount, key);
+    }
+
+    private static PendingTransaction credit(long accountId, String amount, String key) {
+        return pending(accountId, 1, amount, key);
+    }
+
+    private static PendingTransaction pending(long accountId, int signMultiplier, String amount, String key) {
+        return new PendingTransaction(accountId, signMultiplier < 0 ? 1 : 4, signMultiplier,
+                Money.of(new BigDecimal(amount), USD), key, LocalDateTime.now(), new CompletableFuture<>());
+    }
+}
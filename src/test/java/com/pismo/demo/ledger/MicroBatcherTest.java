@@ -0,0 +1,66 @@
+package com.pismo.demo.ledger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicroBatcherTest {
+
+    @Test
+    @DisplayName("Items queued together are handed over in batches no larger than the limit")
+    void submit_GroupsItemsIntoBatches() throws Exception {
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch handled = new CountDownLatch(10);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (MicroBatcher<Integer> batcher = new MicroBatcher<>("test-batcher", 100, 4, Duration.ofMillis(50), batch -> {
+            awaitQuietly(release);
+            batches.add(List.copyOf(batch));
+            batch.forEach(item -> handled.countDown());
+        })) {
+            for (int i = 0; i < 10; i++) {
+                batcher.submit(i);
+            }
+            release.countDown();
+            assertTrue(handled.await(5, TimeUnit.SECONDS));
+        }
+
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 4));
+        assertEquals(10, batches.stream().mapToInt(List::size).sum());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), batches.stream().flatMap(List::stream).toList());
+    }
+
+    @Test
+    @DisplayName("Submissions beyond the queue capacity are rejected")
+    void submit_RejectsWhenFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (MicroBatcher<Integer> batcher = new MicroBatcher<>("test-batcher", 2, 1, Duration.ZERO,
+                batch -> awaitQuietly(release))) {
+            batcher.submit(1);
+            // Wait for the worker to take the first item, leaving the queue empty.
+            while (batcher.getQueueSize() > 0) {
+                Thread.onSpinWait();
+            }
+            batcher.submit(2);
+            batcher.submit(3);
+            assertThrows(RejectedExecutionException.class, () -> batcher.submit(4));
+            release.countDown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.pismo.demo.ledger;
+
+import com.pismo.demo.config.BalanceUpdateStrategy;
+import com.pismo.demo.config.LedgerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticRetryExecutorTest {
+
+    private ContentionMetrics contentionMetrics;
+    private OptimisticRetryExecutor retryExecutor;
+
+    @BeforeEach
+    void setUp() {
+        LedgerProperties properties = new LedgerProperties();
+        properties.setBalanceUpdate(BalanceUpdateStrategy.OPTIMISTIC);
+        properties.getOptimistic().setMaxAttempts(3);
+        properties.getOptimistic().setInitialBackoff(Duration.ofMillis(1));
+        properties.getOptimistic().setMaxBackoff(Duration.ofMillis(2));
+        contentionMetrics = new ContentionMetrics(properties);
+        retryExecutor = new OptimisticRetryExecutor(properties, contentionMetrics);
+    }
+
+    @Test
+    @DisplayName("Version conflict is retried until the update succeeds")
+    void execute_RetriesThenSucceeds() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retryExecutor.execute(1L, () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Account", 1L);
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+        assertEquals(2, contentionMetrics.getRetries());
+        assertEquals(0, contentionMetrics.getConflicts());
+        assertEquals(1, contentionMetrics.getAttemptsHistogram()[2]);
+        assertEquals(2, contentionMetrics.getAccount(1L).retries());
+    }
+
+    @Test
+    @DisplayName("Atomic balance updates leave the attempts histogram empty")
+    void execute_AtomicStrategy_DoesNotRecordAttempts() {
+        LedgerProperties properties = new LedgerProperties();
+        ContentionMetrics atomicMetrics = new ContentionMetrics(properties);
+        OptimisticRetryExecutor atomicExecutor = new OptimisticRetryExecutor(properties, atomicMetrics);
+
+        assertEquals("ok", atomicExecutor.execute(1L, () -> "ok"));
+
+        assertArrayEquals(new long[properties.getOptimistic().getMaxAttempts()], atomicMetrics.getAttemptsHistogram());
+    }
+
+    @Test
+    @DisplayName("Conflict is rethrown once all attempts are used")
+    void execute_ExhaustsAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () ->
+                retryExecutor.execute(2L, () -> {
+                    calls.incrementAndGet();
+                    throw new ObjectOptimisticLockingFailureException("Account", 2L);
+                }));
+
+        assertEquals(3, calls.get());
+        assertEquals(1, contentionMetrics.getConflicts());
+        assertEquals(1, contentionMetrics.getAccount(2L).conflicts());
+    }
+
+    @Test
+    @DisplayName("Business failures are not retried")
+    void execute_DoesNotRetryOtherExceptions() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () ->
+                retryExecutor.execute(3L, () -> {
+                    calls.incrementAndGet();
+                    throw new IllegalArgumentException("Transaction denied: limit exceeded");
+                }));
+
+        assertEquals(1, calls.get());
+        assertNull(contentionMetrics.getAccount(3L));
+    }
+}
@@ -0,0 +1,121 @@
+package com.pismo.demo.ledger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedLedgerExecutorTest {
+
+    private final ShardedLedgerExecutor executor = new ShardedLedgerExecutor(4, 1_000, Duration.ofSeconds(10));
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        executor.destroy();
+    }
+
+    @Test
+    @DisplayName("Same account always maps to the same shard")
+    void shardFor_IsStable() {
+        for (long accountId = 1; accountId < 100; accountId++) {
+            int shard = executor.shardFor(accountId);
+            assertTrue(shard >= 0 && shard < executor.getShardCount());
+            assertEquals(shard, executor.shardFor(accountId));
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent unsynchronized updates on one account are not lost")
+    void execute_SerializesPerAccount() throws Exception {
+        long[] balance = new long[1];
+        int threads = 8;
+        int perThread = 500;
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(callers.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        executor.execute(7L, () -> balance[0]++);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdown();
+        }
+        assertEquals((long) threads * perThread, balance[0]);
+    }
+
+    @Test
+    @DisplayName("Runtime exceptions thrown on the shard reach the caller unchanged")
+    void execute_PropagatesRuntimeException() {
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () ->
+                executor.execute(1L, () -> {
+                    throw new IllegalArgumentException("Transaction denied: limit exceeded");
+                }));
+        assertEquals("Transaction denied: limit exceeded", thrown.getMessage());
+    }
+
+    @Test
+    @DisplayName("Work of an interrupted caller that has not started yet never runs")
+    void execute_InterruptedCaller_CancelsQueuedWork() throws Exception {
+        ShardedLedgerExecutor single = new ShardedLedgerExecutor(1, 10, Duration.ofSeconds(10));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean queuedWorkRan = new AtomicBoolean();
+        ExecutorService blocker = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> busy = blocker.submit(() -> single.execute(1L, () -> {
+                started.countDown();
+                try {
+                    return release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            Thread.currentThread().interrupt();
+            assertThrows(IllegalStateException.class, () -> single.execute(1L, () -> queuedWorkRan.getAndSet(true)));
+            assertTrue(Thread.interrupted());
+
+            release.countDown();
+            busy.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            blocker.shutdown();
+            single.destroy();
+        }
+        assertFalse(queuedWorkRan.get());
+    }
+
+    @Test
+    @DisplayName("A caller stops waiting for a stuck shard after the timeout")
+    void execute_StuckShard_TimesOut() throws InterruptedException {
+        ShardedLedgerExecutor single = new ShardedLedgerExecutor(1, 10, Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            assertThrows(QueryTimeoutException.class, () -> single.execute(1L, () -> {
+                try {
+                    return release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        } finally {
+            release.countDown();
+            single.destroy();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.pismo.demo.money;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    @Test
+    @DisplayName("Decimal amounts convert exactly to minor units and back")
+    void of_ConvertsToMinorUnits() {
+        Money money = Money.of(new BigDecimal("123.45"), USD);
+
+        assertEquals(12_345, money.minorUnits());
+        assertEquals(new BigDecimal("123.45"), money.toBigDecimal());
+        assertEquals(100, Money.of(BigDecimal.ONE, USD).minorUnits());
+        assertEquals(500, Money.of(new BigDecimal("500"), JPY).minorUnits());
+        assertEquals(150, Money.of(new BigDecimal("1.5000"), USD).minorUnits());
+    }
+
+    @Test
+    @DisplayName("Amounts finer than the currency's minor unit are rejected")
+    void of_RejectsExtraDecimalPlaces() {
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> Money.of(new BigDecimal("1.005"), USD));
+
+        assertEquals("Amount must have at most 2 decimal places for USD", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("1.5"), JPY));
+    }
+
+    @Test
+    @DisplayName("Arithmetic works on minor units and compares without BigDecimal")
+    void arithmetic() {
+        Money balance = Money.of(new BigDecimal("10.00"), USD);
+        Money limit = Money.of(new BigDecimal("1000"), USD);
+        Money debit = Money.of(new BigDecimal("1010.01"), USD);
+
+        assertTrue(balance.plus(limit).isLessThan(debit));
+        assertEquals(new BigDecimal("-1000.00"), balance.minus(Money.of(new BigDecimal("1010"), USD)).toBigDecimal());
+        assertEquals(Money.ofMinor(-1, USD), Money.ofMinor(1, USD).negate());
+        assertEquals(Money.ofMinor(1, USD), Money.ofMinor(-1, USD).abs());
+    }
+
+    @Test
+    @DisplayName("Overflow and currency mismatches fail instead of producing wrong amounts")
+    void arithmetic_Overflow() {
+        Money max = Money.ofMinor(Long.MAX_VALUE, USD);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofMinor(1, USD)));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MIN_VALUE, USD).negate());
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1E+30"), USD));
+        assertThrows(IllegalArgumentException.class, () -> max.minus(Money.ofMinor(1, JPY)));
+    }
+}
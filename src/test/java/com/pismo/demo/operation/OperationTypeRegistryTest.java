@@ -0,0 +1,83 @@
+package com.pismo.demo.operation;
+
+import com.pismo.demo.entity.OperationType;
+import com.pismo.demo.repository.OperationTypeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OperationTypeRegistryTest {
+
+    @Mock
+    private OperationTypeRepository operationTypeRepository;
+
+    @InjectMocks
+    private OperationTypeRegistry operationTypeRegistry;
+
+    @Test
+    @DisplayName("Loaded operation types are served from memory by id")
+    void get_ReturnsLoadedType() {
+        when(operationTypeRepository.findAll()).thenReturn(List.of(
+                operationType(1L, "Normal Purchase", -1),
+                operationType(4L, "Credit Voucher", 1)));
+
+        operationTypeRegistry.afterSingletonsInstantiated();
+
+        assertEquals(new OperationTypeDefinition(4, "Credit Voucher", 1), operationTypeRegistry.get(4));
+        assertTrue(operationTypeRegistry.get(1).isDebit());
+        assertNull(operationTypeRegistry.get(2));
+        assertNull(operationTypeRegistry.get(99));
+        assertNull(operationTypeRegistry.get(-1));
+        operationTypeRegistry.get(4);
+        verify(operationTypeRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Refresh replaces the loaded operation types")
+    void refresh_ReplacesTypes() {
+        when(operationTypeRepository.findAll())
+                .thenReturn(List.of(operationType(1L, "Normal Purchase", -1)))
+                .thenReturn(List.of(operationType(5L, "Refund", 1)));
+
+        operationTypeRegistry.refresh();
+        int loaded = operationTypeRegistry.refresh();
+
+        assertEquals(1, loaded);
+        assertNull(operationTypeRegistry.get(1));
+        assertEquals("Refund", operationTypeRegistry.get(5).description());
+        assertEquals(List.of(new OperationTypeDefinition(5, "Refund", 1)), operationTypeRegistry.getAll());
+    }
+
+    @Test
+    @DisplayName("Large ids are served from the sparse table without sizing the array by them")
+    void get_LargeIdsServedFromMap() {
+        when(operationTypeRepository.findAll()).thenReturn(List.of(
+                operationType(2_000_000_000L, "Chargeback", 1),
+                operationType(1L, "Normal Purchase", -1)));
+
+        operationTypeRegistry.refresh();
+
+        assertEquals("Chargeback", operationTypeRegistry.get(2_000_000_000).description());
+        assertEquals("Normal Purchase", operationTypeRegistry.get(1).description());
+        assertNull(operationTypeRegistry.get(OperationTypeRegistry.MAX_DENSE_ID));
+        assertEquals(List.of(1, 2_000_000_000),
+                operationTypeRegistry.getAll().stream().map(OperationTypeDefinition::id).toList());
+    }
+
+    private static OperationType operationType(Long id, String description, int signMultiplier) {
+        OperationType operationType = new OperationType();
+        operationType.setId(id);
+        operationType.setDescription(description);
+        operationType.setSignMultiplier(signMultiplier);
+        return operationType;
+    }
+}
@@ -0,0 +1,46 @@
+package com.pismo.demo.repository;
+
+import com.pismo.demo.entity.Account;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the native balance updates against the real database; their typing is up to H2.
+ */
+@SpringBootTest
+@Transactional
+class AccountRepositoryTest {
+
+    private static final BigDecimal CENT = new BigDecimal("0.01");
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Minor-unit updates move the balance by units times the minor unit and keep the limit")
+    void minorUnits_ApplyExactAmountsWithinLimit() {
+        Account account = new Account();
+        account.setDocumentNumber("minor-units");
+        Long id = accountRepository.saveAndFlush(account).getId();
+
+        assertEquals(1, accountRepository.creditMinorUnits(id, 5_000, CENT));
+        assertEquals(1, accountRepository.debitMinorUnits(id, 1_050, CENT, Account.CREDIT_LIMIT));
+        // 39.50 + 1000.00 limit: one cent more is declined, the exact remainder is not.
+        assertEquals(0, accountRepository.debitMinorUnits(id, 103_951, CENT, Account.CREDIT_LIMIT));
+        assertEquals(1, accountRepository.debitMinorUnits(id, 103_950, CENT, Account.CREDIT_LIMIT));
+
+        entityManager.clear();
+        assertEquals(0, new BigDecimal("-1000.00").compareTo(accountRepository.findById(id).orElseThrow().getBalance()));
+    }
+}
@@ -1,7 +1,9 @@
 package com.pismo.demo.service;
 
+import com.pismo.demo.cache.AccountCache;
 import com.pismo.demo.dto.AccountResponseDTO;
 import com.pismo.demo.entity.Account;
+import com.pismo.demo.exception.DuplicateAccountException;
 import com.pismo.demo.repository.AccountRepository;
 import com.pismo.demo.service.impl.AccountServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
@@ -25,6 +27,9 @@ class AccountServiceImplTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private AccountCache accountCache;
+
     @InjectMocks
     private AccountServiceImpl accountService;
 
@@ -46,6 +51,7 @@ class AccountServiceImplTest {
         assertEquals(documentNumber, result.documentNumber());
 
         verify(accountRepository, times(1)).save(any(Account.class));
+        verify(accountCache).put(result);
     }
 
     @Test
@@ -62,6 +68,7 @@ class AccountServiceImplTest {
 
         assertEquals("Duplicate entry", exception.getMessage());
         verify(accountRepository, times(1)).save(any(Account.class));
+        verify(accountCache, never()).put(any());
     }
 
 
@@ -84,6 +91,59 @@ class AccountServiceImplTest {
         assertEquals(documentNumber, result.documentNumber());
         
         verify(accountRepository, times(1)).findById(accountId);
+        verify(accountCache).put(result);
+    }
+
+    @Test
+    @DisplayName("Get Account - Served from Cache")
+    void getAccount_CacheHit() {
+        AccountResponseDTO cached = new AccountResponseDTO(1L, "12345678900");
+        when(accountCache.get(1L)).thenReturn(cached);
+
+        AccountResponseDTO result = accountService.getAccount(1L);
+
+        assertSame(cached, result);
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    @DisplayName("Create Account - Existing Document Rejected Before Insert")
+    void createAccount_ExistingDocument() {
+        String documentNumber = "12345678900";
+        when(accountRepository.findResponseByDocumentNumber(documentNumber))
+                .thenReturn(Optional.of(new AccountResponseDTO(7L, documentNumber)));
+
+        DuplicateAccountException exception = assertThrows(DuplicateAccountException.class,
+                () -> accountService.createAccount(documentNumber));
+
+        assertEquals(7L, exception.getAccountId());
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+
+    @Test
+    @DisplayName("Create Account - Recently Unknown Document Skips the Lookup")
+    void createAccount_UnknownDocumentSkipsLookup() {
+        String documentNumber = "12345678900";
+        Account savedAccount = new Account();
+        savedAccount.setId(1L);
+        savedAccount.setDocumentNumber(documentNumber);
+        when(accountCache.isUnknownDocument(documentNumber)).thenReturn(true);
+        when(accountRepository.save(any(Account.class))).thenReturn(savedAccount);
+
+        accountService.createAccount(documentNumber);
+
+        verify(accountRepository, never()).findResponseByDocumentNumber(any());
+    }
+
+    @Test
+    @DisplayName("Get Account by Document Number - Not Found is Remembered")
+    void getAccountByDocumentNumber_NotFound() {
+        String documentNumber = "12345678900";
+        when(accountRepository.findResponseByDocumentNumber(documentNumber)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> accountService.getAccountByDocumentNumber(documentNumber));
+
+        verify(accountCache).putUnknownDocument(documentNumber);
     }
 
     @Test
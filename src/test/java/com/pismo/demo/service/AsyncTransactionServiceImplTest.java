@@ -0,0 +1,134 @@
+package com.pismo.demo.service;
+
+import com.pismo.demo.config.AsyncTransactionProperties;
+import com.pismo.demo.dto.TransactionRequestDTO;
+import com.pismo.demo.dto.TransactionResponseDTO;
+import com.pismo.demo.exception.ServiceOverloadedException;
+import com.pismo.demo.service.impl.AsyncTransactionServiceImpl;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncTransactionServiceImplTest {
+
+    private static final TransactionRequestDTO REQUEST = new TransactionRequestDTO(1L, 4, BigDecimal.TEN);
+
+    @Mock
+    private TransactionService transactionService;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AsyncTransactionServiceImpl asyncTransactionService;
+
+    @BeforeEach
+    void setUp() {
+        asyncTransactionService = newService(false);
+    }
+
+    private AsyncTransactionServiceImpl newService(boolean virtualThreads) {
+        AsyncTransactionProperties properties = new AsyncTransactionProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        properties.setTimeout(Duration.ofMillis(200));
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", String.valueOf(virtualThreads));
+        return new AsyncTransactionServiceImpl(transactionService, properties, environment);
+    }
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        release.countDown();
+        asyncTransactionService.destroy();
+    }
+
+    @Test
+    @DisplayName("Completes with the response, or with the exception the service threw")
+    void createTransaction_CompletesWithResult() throws Exception {
+        TransactionResponseDTO response = new TransactionResponseDTO(1L, 1L, 4, BigDecimal.TEN, LocalDateTime.now());
+        when(transactionService.submitTransaction(any(), anyString())).thenAnswer(invocation -> {
+            if (invocation.getArgument(1).equals("missing")) {
+                throw new EntityNotFoundException("Account not found");
+            }
+            return new TransactionResult.Accepted(response);
+        });
+
+        assertEquals(new TransactionResult.Accepted(response),
+                asyncTransactionService.submitTransaction(REQUEST, "key").get(5, TimeUnit.SECONDS));
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> asyncTransactionService.submitTransaction(REQUEST, "missing").get(5, TimeUnit.SECONDS));
+        assertInstanceOf(EntityNotFoundException.class, failure.getCause());
+    }
+
+    @Test
+    @DisplayName("Rejects at once when the queue is full and times out requests stuck behind slow work")
+    void createTransaction_BoundedQueueAndTimeout() throws Exception {
+        when(transactionService.submitTransaction(any(), anyString())).thenAnswer(invocation -> {
+            release.await();
+            return null;
+        });
+
+        CompletableFuture<TransactionResult> running = asyncTransactionService.submitTransaction(REQUEST, "a");
+        CompletableFuture<TransactionResult> queued = asyncTransactionService.submitTransaction(REQUEST, "b");
+
+        assertThrows(ServiceOverloadedException.class, () -> asyncTransactionService.submitTransaction(REQUEST, "c"));
+        ExecutionException timeout = assertThrows(ExecutionException.class, () -> running.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ServiceOverloadedException.class, timeout.getCause());
+        timeout = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ServiceOverloadedException.class, timeout.getCause());
+    }
+
+    @Test
+    @DisplayName("With virtual threads, runs each transaction on its own virtual thread and bounds those in flight")
+    void createTransaction_VirtualThreads_BoundsInFlight() throws Exception {
+        asyncTransactionService.destroy();
+        asyncTransactionService = newService(true);
+        CountDownLatch started = new CountDownLatch(2);
+        when(transactionService.submitTransaction(any(), anyString())).thenAnswer(invocation -> {
+            assertTrue(Thread.currentThread().isVirtual());
+            started.countDown();
+            release.await();
+            return null;
+        });
+
+        CompletableFuture<TransactionResult> first = asyncTransactionService.submitTransaction(REQUEST, "a");
+        CompletableFuture<TransactionResult> second = asyncTransactionService.submitTransaction(REQUEST, "b");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ServiceOverloadedException.class, () -> asyncTransactionService.submitTransaction(REQUEST, "c"));
+        // Timed-out requests keep their permits until the transactions behind them finish.
+        assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertThrows(ServiceOverloadedException.class, () -> asyncTransactionService.submitTransaction(REQUEST, "d"));
+
+        release.countDown();
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (true) {
+                try {
+                    asyncTransactionService.submitTransaction(REQUEST, "e").get(5, TimeUnit.SECONDS);
+                    return;
+                } catch (ServiceOverloadedException e) {
+                    Thread.onSpinWait();
+                }
+            }
+        });
+    }
+}
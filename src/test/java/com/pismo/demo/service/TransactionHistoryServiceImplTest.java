@@ -0,0 +1,87 @@
+package com.pismo.demo.service;
+
+import com.pismo.demo.dto.TransactionHistoryQuery;
+import com.pismo.demo.dto.TransactionPageDTO;
+import com.pismo.demo.dto.TransactionResponseDTO;
+import com.pismo.demo.repository.AccountRepository;
+import com.pismo.demo.repository.TransactionRepository;
+import com.pismo.demo.service.impl.TransactionHistoryServiceImpl;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionHistoryServiceImplTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 10, 12, 0);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private TransactionHistoryServiceImpl historyService;
+
+    @Test
+    @DisplayName("Get Transactions - Full page returns a cursor that seeks past its last row")
+    void getTransactions_NextPageUsesCursor() {
+        when(transactionRepository.findHistoryPage(eq(1L), any(), any(), isNull(), any(), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(transaction(30L, NOW), transaction(20L, NOW), transaction(10L, NOW.minusDays(1))));
+
+        TransactionPageDTO first = historyService.getTransactions(1L, new TransactionHistoryQuery(null, null, null, null, 2));
+
+        assertEquals(2, first.transactions().size());
+        assertNotNull(first.nextCursor());
+
+        when(transactionRepository.findHistoryPage(eq(1L), any(), any(), isNull(), eq(NOW), eq(20L), eq(Limit.of(3))))
+                .thenReturn(List.of(transaction(10L, NOW.minusDays(1))));
+
+        TransactionPageDTO second = historyService.getTransactions(1L,
+                new TransactionHistoryQuery(null, null, null, first.nextCursor(), 2));
+
+        assertEquals(List.of(10L), second.transactions().stream().map(TransactionResponseDTO::transactionId).toList());
+        assertNull(second.nextCursor());
+        verify(accountRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("Get Transactions - Fail (Account Not Found)")
+    void getTransactions_AccountNotFound() {
+        when(transactionRepository.findHistoryPage(any(), any(), any(), any(), any(), any(), any())).thenReturn(List.of());
+        when(accountRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class,
+                () -> historyService.getTransactions(99L, new TransactionHistoryQuery(null, null, null, null, 50)));
+    }
+
+    @Test
+    @DisplayName("Get Transactions - Fail (Invalid Cursor)")
+    void getTransactions_InvalidCursor() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> historyService.getTransactions(1L, new TransactionHistoryQuery(null, null, null, "not-a-cursor", 50)));
+
+        assertEquals("Invalid cursor", exception.getMessage());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    private static TransactionResponseDTO transaction(Long id, LocalDateTime eventDate) {
+        return new TransactionResponseDTO(id, 1L, 4, new BigDecimal("10.00"), eventDate);
+    }
+}
@@ -1,28 +1,60 @@
 package com.pismo.demo.service;
 
+import com.pismo.demo.config.BalanceUpdateStrategy;
+import com.pismo.demo.config.LedgerProperties;
+import com.pismo.demo.dto.BatchTransactionItemDTO;
+import com.pismo.demo.dto.ImportTransactionItemDTO;
+import com.pismo.demo.dto.BatchTransactionResultDTO;
+import com.pismo.demo.dto.BatchTransactionResultDTO.Status;
 import com.pismo.demo.dto.TransactionRequestDTO;
 import com.pismo.demo.dto.TransactionResponseDTO;
 import com.pismo.demo.entity.Account;
 import com.pismo.demo.entity.OperationType;
 import com.pismo.demo.entity.Transaction;
+import com.pismo.demo.exception.TransactionDeclinedException;
+import com.pismo.demo.idempotency.IdempotencyRegistry;
+import com.pismo.demo.ledger.ContentionMetrics;
+import com.pismo.demo.ledger.DirectLedgerExecutor;
+import com.pismo.demo.ledger.EventSourcedLedger;
+import com.pismo.demo.ledger.LedgerExecutor;
+import com.pismo.demo.ledger.OptimisticRetryExecutor;
+import com.pismo.demo.ledger.PendingTransaction;
+import com.pismo.demo.ledger.TransactionBatchProcessor;
+import com.pismo.demo.ledger.TransactionBatchWriter;
+import com.pismo.demo.metrics.TransactionStageMetrics;
 import com.pismo.demo.repository.AccountRepository;
+import com.pismo.demo.repository.BalanceSnapshotRepository;
+import com.pismo.demo.operation.OperationTypeRegistry;
 import com.pismo.demo.repository.OperationTypeRepository;
 import com.pismo.demo.repository.TransactionRepository;
 import com.pismo.demo.service.impl.TransactionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,12 +66,70 @@ class TransactionServiceImplTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Spy
+    private OperationTypeRegistry operationTypeRegistry = standardOperationTypes();
+
+    @Spy
+    private LedgerExecutor ledgerExecutor = new DirectLedgerExecutor();
+
+    @Spy
+    private OptimisticRetryExecutor optimisticRetryExecutor =
+            new OptimisticRetryExecutor(new LedgerProperties(), new ContentionMetrics(new LedgerProperties()));
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private LedgerProperties ledgerProperties = new LedgerProperties();
+
+    @Mock
+    private IdempotencyRegistry idempotencyRegistry;
+
+    @Mock
+    private TransactionBatchProcessor batchProcessor;
+
     @Mock
-    private OperationTypeRepository operationTypeRepository;
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+
+    @Spy
+    private TransactionStageMetrics stageMetrics = new TransactionStageMetrics(operationTypeRegistry);
 
     @InjectMocks
     private TransactionServiceImpl transactionService;
 
+    private TransactionServiceImpl minorUnitsService() {
+        ledgerProperties.setMinorUnits(true);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        return new TransactionServiceImpl(transactionRepository, accountRepository, operationTypeRegistry,
+                ledgerExecutor, optimisticRetryExecutor, transactionTemplate, ledgerProperties,
+                beans.getBeanProvider(TransactionBatchWriter.class), beans.getBeanProvider(EventSourcedLedger.class),
+                idempotencyRegistry, batchProcessor, balanceSnapshotRepository, stageMetrics);
+    }
+
+    private static OperationTypeRegistry standardOperationTypes() {
+        OperationTypeRepository repository = mock(OperationTypeRepository.class);
+        when(repository.findAll()).thenReturn(List.of(
+                operationType(1L, "Normal Purchase", -1),
+                operationType(4L, "Credit Voucher", 1)));
+        OperationTypeRegistry registry = new OperationTypeRegistry(repository);
+        registry.refresh();
+        return registry;
+    }
+
+    private static OperationType operationType(Long id, String description, int signMultiplier) {
+        OperationType operationType = new OperationType();
+        operationType.setId(id);
+        operationType.setDescription(description);
+        operationType.setSignMultiplier(signMultiplier);
+        return operationType;
+    }
+
+    @BeforeEach
+    void runTransactionCallbacksInline() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
 
     @Test
     @DisplayName("Create Transaction - Idempotency Hit (Key Exists) -> Return Existing Transaction")
@@ -48,17 +138,11 @@ class TransactionServiceImplTest {
         String idempotencyKey = "key-123";
         TransactionRequestDTO request = new TransactionRequestDTO(1L, 1, new BigDecimal("100.00"));
 
-        // Simulate an existing transaction found in DB
-        Transaction existingTx = new Transaction();
-        existingTx.setId(999L);
-        existingTx.setAccount(new Account()); // basic mock
-        existingTx.getAccount().setId(1L);
-        existingTx.setOperationTypeId(1);
-        existingTx.setAmount(new BigDecimal("-100.00"));
-        existingTx.setEventDate(LocalDateTime.now());
-        existingTx.setIdempotencyKey(idempotencyKey);
+        // Simulate a key already recorded by the idempotency registry
+        TransactionResponseDTO existing = new TransactionResponseDTO(
+                999L, 1L, 1, new BigDecimal("-100.00"), LocalDateTime.now());
 
-        when(transactionRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.of(existingTx));
+        when(idempotencyRegistry.find(idempotencyKey)).thenReturn(Optional.of(existing));
 
         TransactionResponseDTO result = transactionService.createTransaction(request, idempotencyKey);
 
@@ -67,13 +151,13 @@ class TransactionServiceImplTest {
         assertEquals(new BigDecimal("-100.00"), result.amount());
 
         verify(accountRepository, never()).findById(any());
-        verify(operationTypeRepository, never()).findById(any());
+        verify(transactionTemplate, never()).execute(any());
         verify(transactionRepository, never()).save(any());
     }
 
 
     @Test
-    @DisplayName("Create Transaction - New Key (Success) -> Save and Return")
+    @DisplayName("Create Transaction - New Key (Success) -> Conditional Debit, Save and Return")
     void createTransaction_NewKey_Success() {
         String idempotencyKey = "key-new-456";
         TransactionRequestDTO request = new TransactionRequestDTO(1L, 1, new BigDecimal("100.00"));
@@ -81,14 +165,9 @@ class TransactionServiceImplTest {
         Account account = new Account();
         account.setId(1L);
 
-        OperationType operationType = new OperationType();
-        operationType.setId(1L);
-        operationType.setSignMultiplier(-1);
 
-        when(transactionRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.empty());
-
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
-        when(operationTypeRepository.findById(1L)).thenReturn(Optional.of(operationType));
+        when(accountRepository.debit(eq(1L), eq(new BigDecimal("100.00")), any())).thenReturn(1);
+        when(accountRepository.getReferenceById(1L)).thenReturn(account);
 
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> {
             Transaction t = inv.getArgument(0);
@@ -102,10 +181,213 @@ class TransactionServiceImplTest {
         assertEquals(555L, result.transactionId());
         assertEquals(new BigDecimal("-100.00"), result.amount());
         verify(transactionRepository).save(any(Transaction.class));
+        verify(accountRepository, never()).findById(any());
+        verify(accountRepository, never()).save(any());
+        verify(idempotencyRegistry).record(idempotencyKey, result);
+    }
+
+    @Test
+    @DisplayName("Create Transaction - Amount Without Decimals -> Response Uses The Currency Scale")
+    void createTransaction_ResponseUsesCurrencyScale() {
+        when(accountRepository.credit(eq(1L), eq(new BigDecimal("50.00")))).thenReturn(1);
+        when(accountRepository.getReferenceById(1L)).thenReturn(new Account());
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+        TransactionResponseDTO atomic = transactionService.createTransaction(
+                new TransactionRequestDTO(1L, 4, new BigDecimal("50")), "key-scale-atomic");
+
+        ledgerProperties.setBalanceUpdate(BalanceUpdateStrategy.OPTIMISTIC);
+        Account account = new Account();
+        account.setId(1L);
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
+        TransactionResponseDTO optimistic = transactionService.createTransaction(
+                new TransactionRequestDTO(1L, 1, new BigDecimal("7.5")), "key-scale-optimistic");
+
+        // Same representation as a replay read from the column.
+        assertEquals("50.00", atomic.amount().toPlainString());
+        assertEquals("-7.50", optimistic.amount().toPlainString());
+    }
+
+    @Test
+    @DisplayName("Create Transaction - Extra Decimals Without Minor Units -> Rounded Half-Up, Not Rejected")
+    void createTransaction_DecimalAmountRoundedToCurrencyScale() {
+        when(accountRepository.credit(eq(1L), eq(new BigDecimal("10.01")))).thenReturn(1);
+        when(accountRepository.getReferenceById(1L)).thenReturn(new Account());
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        TransactionResponseDTO result = transactionService.createTransaction(
+                new TransactionRequestDTO(1L, 4, new BigDecimal("10.005")), "key-round");
+
+        assertEquals(new BigDecimal("10.01"), result.amount());
+    }
+
+    @Test
+    @DisplayName("Create Transaction - Minor Units -> Conditional Update Binds Long Units, Response At Currency Scale")
+    void createTransaction_MinorUnits_AppliesLongUnits() {
+        TransactionServiceImpl service = minorUnitsService();
+        when(accountRepository.debitMinorUnits(1L, 1050L, new BigDecimal("0.01"), Account.CREDIT_LIMIT)).thenReturn(1);
+        when(accountRepository.getReferenceById(1L)).thenReturn(new Account());
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        TransactionResponseDTO result = service.createTransaction(
+                new TransactionRequestDTO(1L, 1, new BigDecimal("10.5")), "key-minor");
+
+        assertEquals("-10.50", result.amount().toPlainString());
+        verify(accountRepository, never()).debit(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Create Transaction - Minor Units, Extra Decimals -> Rejected Before Any Database Work")
+    void createTransaction_MinorUnits_RejectsExtraDecimals() {
+        TransactionServiceImpl service = minorUnitsService();
+
+        assertThrows(IllegalArgumentException.class, () -> service.createTransaction(
+                new TransactionRequestDTO(1L, 4, new BigDecimal("10.005")), "key-minor-invalid"));
+
+        verifyNoInteractions(accountRepository, transactionRepository);
+    }
+
+    @Test
+    @DisplayName("Create Transaction - Limit Exceeded (No Row Updated) -> Throw Shared TransactionDeclinedException")
+    void createTransaction_LimitExceeded() {
+        String key = "key-limit";
+        TransactionRequestDTO request = new TransactionRequestDTO(1L, 1, new BigDecimal("1000.01"));
+
+
+        when(accountRepository.debit(eq(1L), any(), any())).thenReturn(0);
+        when(accountRepository.existsById(1L)).thenReturn(true);
+
+        TransactionDeclinedException exception = assertThrows(TransactionDeclinedException.class, () ->
+                transactionService.createTransaction(request, key)
+        );
+
+        assertEquals("Transaction denied: limit exceeded", exception.getMessage());
+        assertSame(TransactionDecline.LIMIT_EXCEEDED.exception(), exception);
+        // Shared by every decline: nothing a caller does to it may carry over to the next one.
+        exception.addSuppressed(new IllegalStateException("caller failure"));
+        assertEquals(0, exception.getSuppressed().length);
+        assertEquals(0, exception.getStackTrace().length);
+        verify(transactionRepository, never()).save(any());
+        verify(idempotencyRegistry, never()).record(any(), any());
+    }
+
+    @Test
+    @DisplayName("Create Transaction - Stage Timers Tagged By Operation Type And Outcome")
+    void createTransaction_RecordsStageTimers() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        stageMetrics.bindTo(registry);
+        when(accountRepository.debit(eq(1L), any(), any())).thenReturn(1, 0);
+        when(accountRepository.existsById(1L)).thenReturn(true);
+        when(accountRepository.getReferenceById(1L)).thenReturn(new Account());
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        transactionService.createTransaction(new TransactionRequestDTO(1L, 1, BigDecimal.TEN), "key-created");
+        assertThrows(TransactionDeclinedException.class, () ->
+                transactionService.createTransaction(new TransactionRequestDTO(1L, 1, BigDecimal.TEN), "key-declined"));
+
+        for (String stage : List.of("idempotency", "operation-type", "account-update", "insert", "commit")) {
+            assertEquals(1, registry.get(TransactionStageMetrics.METER_NAME)
+                    .tags("stage", stage, "operation_type", "1", "outcome", "created").timer().count(), stage);
+        }
+        assertEquals(1, registry.get(TransactionStageMetrics.METER_NAME)
+                .tags("stage", "account-load", "operation_type", "1", "outcome", "declined").timer().count());
+        assertNull(registry.find(TransactionStageMetrics.METER_NAME)
+                .tags("stage", "insert", "outcome", "declined").timer());
+    }
+
+    @Test
+    @DisplayName("Create Transaction - Stage Timers Put Unknown Operation Types In One Series")
+    void createTransaction_StageTimersBoundOperationTypeTag() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        stageMetrics.bindTo(registry);
+
+        for (int operationTypeId : List.of(99, 12345, -7)) {
+            assertThrows(TransactionDeclinedException.class, () -> transactionService.createTransaction(
+                    new TransactionRequestDTO(1L, operationTypeId, BigDecimal.TEN), "key-" + operationTypeId));
+        }
+
+        assertEquals(3, registry.get(TransactionStageMetrics.METER_NAME)
+                .tags("stage", "operation-type", "operation_type", "unknown").timer().count());
+        assertEquals(1, registry.find(TransactionStageMetrics.METER_NAME)
+                .tag("stage", "operation-type").timers().size());
+    }
+
+    @Test
+    @DisplayName("Submit Transaction - Limit Exceeded -> Preallocated Decline, Committed Without Writes")
+    void submitTransaction_LimitExceeded_ReturnsDecline() {
+        TransactionRequestDTO request = new TransactionRequestDTO(1L, 1, new BigDecimal("1000.01"));
+        when(accountRepository.debit(eq(1L), any(), any())).thenReturn(0);
+        when(accountRepository.existsById(1L)).thenReturn(true);
+
+        TransactionResult first = transactionService.submitTransaction(request, "key-decline-1");
+        TransactionResult second = transactionService.submitTransaction(request, "key-decline-2");
+
+        assertSame(TransactionDecline.LIMIT_EXCEEDED.result(), first);
+        assertSame(first, second);
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(transactionRepository, never()).save(any());
+        verify(balanceSnapshotRepository, never()).applyDelta(any(), any(), any());
+        verify(idempotencyRegistry, never()).record(any(), any());
+    }
+
+    @Test
+    @DisplayName("Submit Transaction - Optimistic Mode Over Limit -> Decline Without Saving The Account")
+    void submitTransaction_OptimisticMode_LimitExceeded() {
+        ledgerProperties.setBalanceUpdate(BalanceUpdateStrategy.OPTIMISTIC);
+        Account account = new Account();
+        account.setId(1L);
+        account.setBalance(BigDecimal.ZERO);
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
+
+        TransactionResult result = transactionService.submitTransaction(
+                new TransactionRequestDTO(1L, 1, new BigDecimal("1000.01")), "key-optimistic-decline");
+
+        assertSame(TransactionDecline.LIMIT_EXCEEDED.result(), result);
+        assertEquals(0, BigDecimal.ZERO.compareTo(account.getBalance()));
+        verify(accountRepository, never()).save(any());
+        verify(transactionRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("Create Transaction - Optimistic Mode -> Load, Check Limit and Save Account")
+    void createTransaction_OptimisticMode_Success() {
+        ledgerProperties.setBalanceUpdate(BalanceUpdateStrategy.OPTIMISTIC);
+        String idempotencyKey = "key-optimistic";
+        TransactionRequestDTO request = new TransactionRequestDTO(1L, 4, new BigDecimal("50.00"));
+
+        Account account = new Account();
+        account.setId(1L);
 
 
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        TransactionResponseDTO result = transactionService.createTransaction(request, idempotencyKey);
+
+        assertEquals(new BigDecimal("50.00"), result.amount());
+        assertEquals(new BigDecimal("50.00"), account.getBalance());
+        verify(accountRepository).save(account);
+        verify(accountRepository, never()).credit(any(), any());
+    }
+
+    @Test
+    @DisplayName("Create Transaction - Optimistic Conflict -> Retry Resubmits To The Ledger Executor")
+    void createTransaction_OptimisticConflict_RetriesOutsideLedgerExecutor() {
+        ledgerProperties.setBalanceUpdate(BalanceUpdateStrategy.OPTIMISTIC);
+        TransactionRequestDTO request = new TransactionRequestDTO(1L, 4, new BigDecimal("50.00"));
+        Account account = new Account();
+        account.setId(1L);
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(accountRepository.save(account))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Account.class, 1L))
+                .thenReturn(account);
+
+        transactionService.createTransaction(request, "key-conflict");
+
+        // One executor task per attempt: the backoff between them happened outside the executor.
+        verify(ledgerExecutor, times(2)).execute(eq(1L), any());
+    }
+
     @Test
     @DisplayName("Create Transaction - Account Not Found -> Throw EntityNotFoundException")
     void createTransaction_AccountNotFound() {
@@ -113,8 +395,9 @@ class TransactionServiceImplTest {
         String key = "key-fail";
         TransactionRequestDTO request = new TransactionRequestDTO(99L, 1, BigDecimal.TEN);
 
-        when(transactionRepository.findByIdempotencyKey(key)).thenReturn(Optional.empty());
-        when(accountRepository.findById(99L)).thenReturn(Optional.empty());
+
+        when(accountRepository.debit(eq(99L), any(), any())).thenReturn(0);
+        when(accountRepository.existsById(99L)).thenReturn(false);
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () ->
@@ -123,4 +406,167 @@ class TransactionServiceImplTest {
 
         verify(transactionRepository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Create Transaction - Concurrent Duplicate Key -> Waits For First Request And Shares Its Result")
+    void createTransaction_ConcurrentDuplicate_Coalesced() throws Exception {
+        String key = "key-dup";
+        TransactionRequestDTO request = new TransactionRequestDTO(1L, 4, new BigDecimal("10.00"));
+
+        Account account = new Account();
+        account.setId(1L);
+
+        CountDownLatch firstInside = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        when(accountRepository.credit(eq(1L), any())).thenAnswer(inv -> {
+            firstInside.countDown();
+            releaseFirst.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+        when(accountRepository.getReferenceById(1L)).thenReturn(account);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> {
+            Transaction t = inv.getArgument(0);
+            t.setId(777L);
+            return t;
+        });
+
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            Future<TransactionResponseDTO> first = callers.submit(() -> transactionService.createTransaction(request, key));
+            assertTrue(firstInside.await(5, TimeUnit.SECONDS));
+            FutureTask<TransactionResponseDTO> duplicate =
+                    new FutureTask<>(() -> transactionService.createTransaction(request, key));
+            Thread duplicateCaller = new Thread(duplicate);
+            duplicateCaller.start();
+            // Only let the first request finish once the duplicate is parked waiting for it
+            while (duplicateCaller.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+            releaseFirst.countDown();
+
+            assertEquals(777L, first.get(5, TimeUnit.SECONDS).transactionId());
+            assertSame(first.get(), duplicate.get(5, TimeUnit.SECONDS));
+        } finally {
+            callers.shutdownNow();
+        }
+
+        verify(accountRepository, times(1)).credit(eq(1L), any());
+        verify(transactionRepository, times(1)).save(any(Transaction.class));
+    }
+
+    @Test
+    @DisplayName("Create Transaction - Key Committed Concurrently Elsewhere -> Replay Committed Transaction")
+    void createTransaction_UniqueViolation_ReplaysCommitted() {
+        String key = "key-race";
+        TransactionRequestDTO request = new TransactionRequestDTO(1L, 4, BigDecimal.TEN);
+        TransactionResponseDTO committed = new TransactionResponseDTO(42L, 1L, 4, BigDecimal.TEN, LocalDateTime.now());
+
+        doThrow(new DataIntegrityViolationException("Unique index violation")).when(transactionTemplate).execute(any());
+        when(idempotencyRegistry.findInDatabase(key)).thenReturn(Optional.of(committed));
+
+        TransactionResponseDTO result = transactionService.createTransaction(request, key);
+
+        assertSame(committed, result);
+    }
+
+    @Test
+    @DisplayName("Create Transaction - Unknown Operation Type -> Throw TransactionDeclinedException")
+    void createTransaction_InvalidOperationType() {
+        TransactionRequestDTO request = new TransactionRequestDTO(1L, 99, BigDecimal.TEN);
+
+        Exception exception = assertThrows(TransactionDeclinedException.class, () ->
+                transactionService.createTransaction(request, "key-invalid-type"));
+
+        assertEquals("Invalid Operation Type ID", exception.getMessage());
+        verifyNoInteractions(accountRepository, transactionRepository);
+    }
+
+    @Test
+    @DisplayName("Create Transactions (Batch) - Mixed Items -> One Result Per Item In Request Order")
+    void createTransactions_MixedBatch() {
+        TransactionResponseDTO stored = new TransactionResponseDTO(1L, 1L, 4, BigDecimal.TEN, LocalDateTime.now());
+        List<BatchTransactionItemDTO> items = List.of(
+                new BatchTransactionItemDTO("key-stored", 1L, 4, BigDecimal.TEN),
+                new BatchTransactionItemDTO("key-new", 1L, 4, BigDecimal.ONE),
+                new BatchTransactionItemDTO("key-new", 1L, 4, BigDecimal.ONE),
+                new BatchTransactionItemDTO("key-bad-type", 1L, 99, BigDecimal.ONE),
+                new BatchTransactionItemDTO("key-over-limit", 1L, 1, new BigDecimal("5000")));
+
+        when(idempotencyRegistry.findAll(any())).thenReturn(Map.of("key-stored", stored));
+        doAnswer(inv -> {
+            List<PendingTransaction> batch = inv.getArgument(0);
+            assertEquals(List.of("key-new", "key-over-limit"),
+                    batch.stream().map(PendingTransaction::idempotencyKey).toList());
+            batch.get(0).result().complete(new TransactionResponseDTO(
+                    2L, 1L, 4, batch.get(0).signedAmount().toBigDecimal(), batch.get(0).eventDate()));
+            batch.get(1).result().completeExceptionally(new IllegalArgumentException("Transaction denied: limit exceeded"));
+            return null;
+        }).when(batchProcessor).process(any());
+
+        List<BatchTransactionResultDTO> results = transactionService.createTransactions(items);
+
+        assertEquals(List.of(Status.REPLAYED, Status.CREATED, Status.REPLAYED, Status.INVALID, Status.DECLINED),
+                results.stream().map(BatchTransactionResultDTO::status).toList());
+        assertSame(stored, results.get(0).transaction());
+        assertEquals(new BigDecimal("1.00"), results.get(1).transaction().amount());
+        assertSame(results.get(1).transaction(), results.get(2).transaction());
+        assertEquals("Invalid Operation Type ID", results.get(3).error());
+        assertEquals("Transaction denied: limit exceeded", results.get(4).error());
+        verify(batchProcessor, times(1)).process(any());
+        verify(idempotencyRegistry).record(eq("key-new"), any());
+    }
+
+    @Test
+    @DisplayName("Create Transactions (Batch) - Too Many Items -> Throw IllegalArgumentException")
+    void createTransactions_TooManyItems() {
+        ledgerProperties.getBatch().setMaxItems(1);
+        List<BatchTransactionItemDTO> items = List.of(
+                new BatchTransactionItemDTO("key-1", 1L, 4, BigDecimal.ONE),
+                new BatchTransactionItemDTO("key-2", 1L, 4, BigDecimal.ONE));
+
+        assertThrows(IllegalArgumentException.class, () -> transactionService.createTransactions(items));
+        verifyNoInteractions(batchProcessor);
+    }
+
+    @Test
+    @DisplayName("Import Transactions - Event Dates -> Booked On Their Date Unless The Day Is Already Snapshotted")
+    void importTransactions_EventDates() {
+        LocalDate closedThrough = LocalDate.now().minusDays(3);
+        LocalDateTime open = closedThrough.plusDays(1).atTime(9, 0);
+        List<ImportTransactionItemDTO> items = List.of(
+                new ImportTransactionItemDTO("key-open", 1L, 4, BigDecimal.ONE, open),
+                new ImportTransactionItemDTO("key-closed", 1L, 4, BigDecimal.ONE, closedThrough.atTime(23, 0)),
+                new ImportTransactionItemDTO("key-undated", 1L, 4, BigDecimal.ONE, null));
+
+        when(idempotencyRegistry.findAll(any())).thenReturn(Map.of());
+        when(balanceSnapshotRepository.findLatestSnapshotDate()).thenReturn(Optional.of(closedThrough));
+        doAnswer(inv -> {
+            List<PendingTransaction> batch = inv.getArgument(0);
+            assertEquals(List.of("key-open", "key-undated"),
+                    batch.stream().map(PendingTransaction::idempotencyKey).toList());
+            assertEquals(open, batch.get(0).eventDate());
+            assertTrue(batch.get(1).eventDate().toLocalDate().isAfter(closedThrough));
+            batch.forEach(pending -> pending.result().complete(new TransactionResponseDTO(
+                    2L, 1L, 4, pending.signedAmount().toBigDecimal(), pending.eventDate())));
+            return null;
+        }).when(batchProcessor).process(any());
+
+        List<BatchTransactionResultDTO> results = transactionService.importTransactions(items);
+
+        assertEquals(List.of(Status.CREATED, Status.INVALID, Status.CREATED),
+                results.stream().map(BatchTransactionResultDTO::status).toList());
+        assertEquals("Event date must be after the latest balance snapshot (" + closedThrough + ")",
+                results.get(1).error());
+    }
+
+    @Test
+    @DisplayName("Import Transactions - No Event Dates -> Snapshots Are Not Looked Up")
+    void importTransactions_Undated_SkipsSnapshotLookup() {
+        when(idempotencyRegistry.findAll(any())).thenReturn(Map.of());
+
+        transactionService.importTransactions(List.of(new ImportTransactionItemDTO("key-1", 1L, 4, BigDecimal.ONE, null)));
+
+        verify(balanceSnapshotRepository, never()).findLatestSnapshotDate();
+        verify(batchProcessor).process(any());
+    }
+}
@@ -0,0 +1,81 @@
+package com.pismo.demo.snapshot;
+
+import com.pismo.demo.config.LedgerProperties;
+import com.pismo.demo.repository.BalanceSnapshotRepository;
+import com.pismo.demo.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceSnapshotCompactorTest {
+
+    private static final LocalDate DAY = LocalDate.now().minusDays(3);
+
+    @Mock
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private HistoricalBalances historicalBalances;
+
+    @Mock
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BalanceSnapshotCompactor compactor;
+
+    @BeforeEach
+    void setUp() {
+        compactor = new BalanceSnapshotCompactor(balanceSnapshotRepository, transactionRepository, historicalBalances,
+                namedJdbcTemplate, new TransactionTemplate(transactionManager), new LedgerProperties());
+    }
+
+    @Test
+    @DisplayName("Closed days are snapshotted for accounts with activity, skipping existing snapshots")
+    void compact_SnapshotsClosedDays() {
+        LocalDateTime dayEnd = DAY.plusDays(1).atStartOfDay();
+        when(balanceSnapshotRepository.findLatestSnapshotDate()).thenReturn(Optional.empty());
+        when(transactionRepository.findEarliestEventDate(any()))
+                .thenReturn(Optional.of(DAY.atTime(10, 0)))
+                .thenReturn(Optional.of(LocalDateTime.now()));
+        when(transactionRepository.findAccountIdsWithTransactions(DAY.atStartOfDay(), dayEnd)).thenReturn(List.of(1L, 2L));
+        when(balanceSnapshotRepository.findAccountIdsWithSnapshot(DAY, List.of(1L, 2L))).thenReturn(List.of(1L));
+        when(historicalBalances.balanceAt(2L, dayEnd)).thenReturn(new BigDecimal("42.00"));
+
+        BalanceSnapshotCompactor.Compaction compaction = compactor.compact();
+
+        assertEquals(1, compaction.days());
+        assertEquals(1, compaction.snapshots());
+        assertEquals(DAY, compaction.through());
+        verify(namedJdbcTemplate).queryForList(contains("FOR UPDATE"), any(SqlParameterSource.class), eq(Long.class));
+        ArgumentCaptor<SqlParameterSource[]> rows = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(namedJdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(1, rows.getValue().length);
+        assertEquals(2L, rows.getValue()[0].getValue("accountId"));
+        assertEquals(new BigDecimal("42.00"), rows.getValue()[0].getValue("balance"));
+        verify(historicalBalances, never()).balanceAt(eq(1L), any());
+    }
+}
@@ -0,0 +1,59 @@
+package com.pismo.demo.snapshot;
+
+import com.pismo.demo.entity.BalanceSnapshot;
+import com.pismo.demo.repository.BalanceSnapshotRepository;
+import com.pismo.demo.repository.TransactionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HistoricalBalancesTest {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2024, 2, 1, 9, 30);
+
+    @Mock
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private HistoricalBalances historicalBalances;
+
+    @Test
+    @DisplayName("Balance is the latest earlier snapshot plus the transactions after its day")
+    void balanceAt_SnapshotPlusDelta() {
+        LocalDate snapshotDate = LocalDate.of(2024, 1, 30);
+        when(balanceSnapshotRepository.findFirstByAccountIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(1L, AT.toLocalDate()))
+                .thenReturn(Optional.of(new BalanceSnapshot(1L, snapshotDate, new BigDecimal("250.00"))));
+        when(transactionRepository.sumAmounts(1L, LocalDateTime.of(2024, 1, 31, 0, 0), AT))
+                .thenReturn(new BigDecimal("-40.00"));
+
+        assertEquals(new BigDecimal("210.00"), historicalBalances.balanceAt(1L, AT));
+    }
+
+    @Test
+    @DisplayName("Without a snapshot the balance is the sum of all earlier transactions")
+    void balanceAt_NoSnapshot() {
+        when(balanceSnapshotRepository.findFirstByAccountIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(eq(1L), any()))
+                .thenReturn(Optional.empty());
+        when(transactionRepository.sumAmounts(eq(1L), eq(LocalDateTime.of(1, 1, 1, 0, 0)), eq(AT)))
+                .thenReturn(new BigDecimal("75.00"));
+
+        assertEquals(new BigDecimal("75.00"), historicalBalances.balanceAt(1L, AT));
+    }
+}